@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 
 import ch.obermuhlner.math.rational.BigRational;
+import ch.obermuhlner.math.rational.MutableBigRational;
 import static ch.obermuhlner.math.rational.BigRational.*;
 
 public class MeasureCpu {
@@ -17,6 +18,7 @@ public class MeasureCpu {
 
 		for (int i = 0; i < 2; i++) {
 			measureAdd();
+			measureMutableAdd();
 			measureBigDecimalAdd();
 			measureSubtract();
 			measureBigDecimalSubtract();
@@ -49,6 +51,17 @@ public class MeasureCpu {
 		System.out.printf("BigRational: %d times %-15s : %-14s | Result: %s\n", N, "add()", watch, r);
 	}
 
+	private static void measureMutableAdd() {
+		StopWatch watch = new StopWatch();
+		
+		MutableBigRational r = new MutableBigRational();
+		for (int i = 0; i < N; i++) {
+			r.addTo(createBigRational(i));
+		}
+		
+		System.out.printf("Mutable    : %d times %-15s : %-14s | Result: %s\n", N, "addTo()", watch, r);
+	}
+
 	private static void measureBigDecimalAdd() {
 		StopWatch watch = new StopWatch();
 		
@@ -0,0 +1,55 @@
+package ch.obermuhlner.math.rational.example;
+
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import ch.obermuhlner.math.rational.BigRational;
+import ch.obermuhlner.math.rational.BigRationalMatrix;
+
+/**
+ * Measures the scaling of the {@link BigRationalMatrix#parallel() parallel} matrix operations
+ * with 1 to N cores.
+ */
+public class MeasureMatrix {
+
+	public static void main(String[] args) throws InterruptedException, ExecutionException {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		int maxParallelism = Runtime.getRuntime().availableProcessors();
+
+		BigRationalMatrix matrix = randomMatrix(size).parallel();
+		BigRational[] vector = matrix.toArray()[0];
+
+		System.out.printf("BigRationalMatrix %dx%d\n", size, size);
+		for (int parallelism = 1; parallelism <= maxParallelism; parallelism++) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				double multiply = measure(pool, () -> matrix.multiply(matrix));
+				double multiplyVector = measure(pool, () -> matrix.multiply(vector));
+				double determinant = measure(pool, () -> matrix.determinant());
+				System.out.printf("%2d cores : multiply(matrix) %10.1f ms | multiply(vector) %8.1f ms | determinant() %10.1f ms\n", parallelism, multiply, multiplyVector, determinant);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	private static double measure(ForkJoinPool pool, Supplier<?> calculation) throws InterruptedException, ExecutionException {
+		long startTime = System.nanoTime();
+		pool.submit(calculation::get).get();
+		long endTime = System.nanoTime();
+		return (endTime - startTime) / 1000000.0;
+	}
+
+	private static BigRationalMatrix randomMatrix(int size) {
+		Random random = new Random(1234);
+		BigRational[][] values = new BigRational[size][size];
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				values[i][j] = BigRational.valueOf(random.nextInt(201) - 100, random.nextInt(100) + 1);
+			}
+		}
+		return BigRationalMatrix.valueOf(values);
+	}
+}
@@ -0,0 +1,97 @@
+package ch.obermuhlner.math.rational.example;
+
+import java.math.BigInteger;
+
+import ch.obermuhlner.math.rational.BigRational;
+import ch.obermuhlner.math.rational.RationalVector;
+
+public class MeasureMemory {
+
+	private static final int N = 1000000;
+
+	public static void main(String[] args) {
+		measureCached();
+		measureSmall();
+		measureLarge();
+		measureVector();
+	}
+
+	private static void measureCached() {
+		BigRational[] values = new BigRational[N];
+
+		long before = usedMemory();
+		for (int i = 0; i < N; i++) {
+			values[i] = BigRational.valueOf(i % 64 + 1, 64);
+		}
+		long after = usedMemory();
+
+		System.out.printf("BigRational: %d times %-20s : %6.1f bytes per instance\n", N, "valueOf(i%64+1, 64)", (after - before) / (double) N);
+		keepAlive(values);
+	}
+
+	private static void measureSmall() {
+		BigRational[] values = new BigRational[N];
+
+		long before = usedMemory();
+		for (int i = 0; i < N; i++) {
+			values[i] = BigRational.valueOf(i + 1000, i + 1001);
+		}
+		long after = usedMemory();
+
+		System.out.printf("BigRational: %d times %-20s : %6.1f bytes per instance\n", N, "valueOf(int, int)", (after - before) / (double) N);
+		keepAlive(values);
+	}
+
+	private static void measureLarge() {
+		BigRational[] values = new BigRational[N];
+		BigInteger large = BigInteger.TEN.pow(30);
+
+		long before = usedMemory();
+		for (int i = 0; i < N; i++) {
+			values[i] = BigRational.valueOf(large.add(BigInteger.valueOf(i)), large);
+		}
+		long after = usedMemory();
+
+		System.out.printf("BigRational: %d times %-20s : %6.1f bytes per instance\n", N, "valueOf(10^30+i, 10^30)", (after - before) / (double) N);
+		keepAlive(values);
+	}
+
+	private static void measureVector() {
+		long[] prices = new long[N];
+		for (int i = 0; i < N; i++) {
+			prices[i] = i * 7 + 99;
+		}
+
+		long before = usedMemory();
+		BigRational[] values = new BigRational[N];
+		for (int i = 0; i < N; i++) {
+			values[i] = BigRational.valueOf(BigInteger.valueOf(prices[i]), BigInteger.valueOf(100));
+		}
+		long after = usedMemory();
+		System.out.printf("BigRational: %d times %-20s : %6.1f bytes per instance\n", N, "price / 100", (after - before) / (double) N);
+		keepAlive(values);
+		values = null;
+
+		before = usedMemory();
+		RationalVector vector = RationalVector.valueOf(prices, 100);
+		after = usedMemory();
+		System.out.printf("RationalVector: %d elements %-17s : %6.1f bytes per element\n", N, "price / 100", (after - before) / (double) N);
+		if (vector.size() != N) {
+			throw new IllegalStateException();
+		}
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static void keepAlive(BigRational[] values) {
+		if (values[values.length - 1] == null) {
+			throw new IllegalStateException();
+		}
+	}
+}
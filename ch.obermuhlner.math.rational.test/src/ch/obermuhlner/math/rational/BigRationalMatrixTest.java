@@ -0,0 +1,225 @@
+package ch.obermuhlner.math.rational;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static ch.obermuhlner.math.rational.BigRational.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link BigRationalMatrix}.
+ */
+public class BigRationalMatrixTest {
+
+	/**
+	 * Tests {@link BigRationalMatrix#valueOf(BigRational[][])}, {@link BigRationalMatrix#get(int, int)} and {@link BigRationalMatrix#transpose()}.
+	 */
+	@Test
+	public void testValueOf() {
+		BigRational[][] values = { { valueOf(1, 2), valueOf(2) }, { valueOf(3), valueOf(-4, 5) }, { ZERO, ONE } };
+		BigRationalMatrix matrix = BigRationalMatrix.valueOf(values);
+		values[0][0] = TEN;
+
+		assertEquals(3, matrix.getRows());
+		assertEquals(2, matrix.getColumns());
+		assertEquals(valueOf(1, 2), matrix.get(0, 0));
+		assertEquals(valueOf(-4, 5), matrix.get(1, 1));
+
+		BigRationalMatrix transposed = matrix.transpose();
+		assertEquals(2, transposed.getRows());
+		assertEquals(3, transposed.getColumns());
+		assertEquals(valueOf(3), transposed.get(0, 1));
+		assertEquals(matrix, transposed.transpose());
+		assertEquals(matrix.hashCode(), transposed.transpose().hashCode());
+		assertFalse(matrix.equals(transposed));
+
+		assertEquals("[[1, 2], [3, 4]]", BigRationalMatrix.valueOf(new int[][] { { 1, 2 }, { 3, 4 } }).toString());
+	}
+
+	/**
+	 * Tests {@link BigRationalMatrix#valueOf(BigRational[][])} with rows of different lengths.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testValueOfDifferentRowLengths() {
+		BigRationalMatrix.valueOf(new int[][] { { 1, 2 }, { 3 } });
+	}
+
+	/**
+	 * Tests {@link BigRationalMatrix#multiply(BigRationalMatrix)} and {@link BigRationalMatrix#multiply(BigRational[])}.
+	 */
+	@Test
+	public void testMultiply() {
+		BigRationalMatrix a = BigRationalMatrix.valueOf(new int[][] { { 1, 2, 3 }, { 4, 5, 6 } });
+		BigRationalMatrix b = BigRationalMatrix.valueOf(new int[][] { { 7, 8 }, { 9, 10 }, { 11, 12 } });
+		assertEquals(BigRationalMatrix.valueOf(new int[][] { { 58, 64 }, { 139, 154 } }), a.multiply(b));
+		assertEquals(a, BigRationalMatrix.identity(2).multiply(a));
+
+		assertArrayEquals(new BigRational[] { valueOf(3, 2), valueOf(4) }, a.multiply(new BigRational[] { valueOf(1, 2), ZERO, valueOf(1, 3) }));
+	}
+
+	/**
+	 * Tests {@link BigRationalMatrix#determinant()}.
+	 */
+	@Test
+	public void testDeterminant() {
+		assertEquals(ONE, BigRationalMatrix.identity(0).determinant());
+		assertEquals(ONE, BigRationalMatrix.identity(5).determinant());
+		assertEquals(valueOf(-2), BigRationalMatrix.valueOf(new int[][] { { 1, 2 }, { 3, 4 } }).determinant());
+		assertEquals(valueOf(2), BigRationalMatrix.valueOf(new int[][] { { 3, 4 }, { 1, 2 } }).determinant());
+		assertEquals(ZERO, BigRationalMatrix.valueOf(new int[][] { { 1, 2 }, { 2, 4 } }).determinant());
+		assertEquals(valueOf(-1), BigRationalMatrix.valueOf(new int[][] { { 0, 1 }, { 1, 0 } }).determinant());
+
+		BigRational[][] values = { { valueOf(1, 2), valueOf(1, 3) }, { valueOf(1, 4), valueOf(1, 5) } };
+		assertEquals(valueOf(1, 60), BigRationalMatrix.valueOf(values).determinant());
+
+		Random random = new Random(1234);
+		for (int n = 1; n <= 6; n++) {
+			BigRational[][] matrix = randomMatrix(random, n, n);
+			assertEquals(determinantByGaussianElimination(matrix), BigRationalMatrix.valueOf(matrix).determinant());
+		}
+	}
+
+	/**
+	 * Tests {@link BigRationalMatrix#rank()}.
+	 */
+	@Test
+	public void testRank() {
+		assertEquals(0, BigRationalMatrix.valueOf(new int[][] { { 0, 0 }, { 0, 0 } }).rank());
+		assertEquals(1, BigRationalMatrix.valueOf(new int[][] { { 1, 2 }, { 2, 4 } }).rank());
+		assertEquals(2, BigRationalMatrix.valueOf(new int[][] { { 1, 2, 3 }, { 2, 4, 7 } }).rank());
+		assertEquals(2, BigRationalMatrix.valueOf(new int[][] { { 0, 1, 2 }, { 0, 2, 4 }, { 1, 0, 1 } }).rank());
+		assertEquals(2, BigRationalMatrix.valueOf(new int[][] { { 1, 2, 3 }, { 2, 4, 6 }, { 1, 1, 1 }, { 3, 6, 9 } }).rank());
+
+		Random random = new Random(1234);
+		for (int rank = 1; rank <= 5; rank++) {
+			// product of random 6 x rank and rank x 7 matrices
+			BigRationalMatrix a = BigRationalMatrix.valueOf(randomMatrix(random, 6, rank));
+			BigRationalMatrix b = BigRationalMatrix.valueOf(randomMatrix(random, rank, 7));
+			assertEquals(rank, a.multiply(b).rank());
+		}
+	}
+
+	/**
+	 * Tests {@link BigRationalMatrix#solve(BigRational[])}.
+	 */
+	@Test
+	public void testSolve() {
+		BigRationalMatrix matrix = BigRationalMatrix.valueOf(new int[][] { { 2, 1 }, { 1, 3 } });
+		assertArrayEquals(new BigRational[] { valueOf(1), valueOf(2) }, matrix.solve(new BigRational[] { valueOf(4), valueOf(7) }));
+
+		Random random = new Random(1234);
+		for (int n = 1; n <= 8; n++) {
+			BigRationalMatrix a = BigRationalMatrix.valueOf(randomMatrix(random, n, n));
+			BigRational[] x = randomMatrix(random, 1, n)[0];
+			assertArrayEquals(x, a.solve(a.multiply(x)));
+		}
+	}
+
+	/**
+	 * Tests {@link BigRationalMatrix#solve(BigRational[])} with a singular matrix.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testSolveSingular() {
+		BigRationalMatrix.valueOf(new int[][] { { 1, 2 }, { 2, 4 } }).solve(new BigRational[] { ONE, ONE });
+	}
+
+	/**
+	 * Tests {@link BigRationalMatrix#inverse()}.
+	 */
+	@Test
+	public void testInverse() {
+		BigRationalMatrix matrix = BigRationalMatrix.valueOf(new int[][] { { 4, 7 }, { 2, 6 } });
+		BigRational[][] expected = { { valueOf(3, 5), valueOf(-7, 10) }, { valueOf(-1, 5), valueOf(2, 5) } };
+		assertEquals(BigRationalMatrix.valueOf(expected), matrix.inverse());
+
+		Random random = new Random(1234);
+		for (int n = 1; n <= 8; n++) {
+			BigRationalMatrix a = BigRationalMatrix.valueOf(randomMatrix(random, n, n));
+			assertEquals(BigRationalMatrix.identity(n), a.multiply(a.inverse()));
+			assertEquals(BigRationalMatrix.identity(n), a.inverse().multiply(a));
+		}
+	}
+
+	/**
+	 * Tests {@link BigRationalMatrix#parallel()} and {@link BigRationalMatrix#sequential()}.
+	 */
+	@Test
+	public void testParallel() throws Exception {
+		Random random = new Random(1234);
+		BigRationalMatrix sequential = BigRationalMatrix.valueOf(randomMatrix(random, 40, 40));
+		BigRationalMatrix parallel = sequential.parallel();
+		BigRational[] vector = randomMatrix(random, 1, 40)[0];
+
+		assertFalse(sequential.isParallel());
+		assertTrue(parallel.isParallel());
+		assertSame(parallel, parallel.parallel());
+		assertSame(sequential, sequential.sequential());
+		assertFalse(parallel.sequential().isParallel());
+		assertEquals(sequential, parallel);
+
+		BigRationalMatrix product = parallel.multiply(sequential);
+		assertTrue(product.isParallel());
+		assertEquals(sequential.multiply(sequential), product);
+		assertArrayEquals(sequential.multiply(vector), parallel.multiply(vector));
+		assertEquals(sequential.determinant(), parallel.determinant());
+		assertEquals(sequential.rank(), parallel.rank());
+		assertArrayEquals(sequential.solve(vector), parallel.solve(vector));
+		assertEquals(BigRationalMatrix.identity(40), parallel.multiply(parallel.inverse()));
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			assertEquals(sequential.determinant(), pool.submit(() -> parallel.determinant()).get());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static BigRational[][] randomMatrix(Random random, int rows, int columns) {
+		BigRational[][] result = new BigRational[rows][columns];
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				result[i][j] = valueOf(random.nextInt(41) - 20, random.nextInt(9) + 1);
+			}
+		}
+		return result;
+	}
+
+	private static BigRational determinantByGaussianElimination(BigRational[][] values) {
+		int n = values.length;
+		BigRational[][] matrix = new BigRational[n][];
+		for (int i = 0; i < n; i++) {
+			matrix[i] = values[i].clone();
+		}
+
+		BigRational result = ONE;
+		for (int k = 0; k < n; k++) {
+			int pivot = k;
+			while (pivot < n && matrix[pivot][k].isZero()) {
+				pivot++;
+			}
+			if (pivot == n) {
+				return ZERO;
+			}
+			if (pivot != k) {
+				BigRational[] temp = matrix[k];
+				matrix[k] = matrix[pivot];
+				matrix[pivot] = temp;
+				result = result.negate();
+			}
+			result = result.multiply(matrix[k][k]);
+			for (int i = k + 1; i < n; i++) {
+				BigRational factor = matrix[i][k].divide(matrix[k][k]);
+				for (int j = k; j < n; j++) {
+					matrix[i][j] = matrix[i][j].subtract(factor.multiply(matrix[k][j]));
+				}
+			}
+		}
+		return result;
+	}
+}
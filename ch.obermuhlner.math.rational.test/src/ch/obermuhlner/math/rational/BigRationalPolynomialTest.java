@@ -0,0 +1,90 @@
+package ch.obermuhlner.math.rational;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static ch.obermuhlner.math.rational.BigRational.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link BigRationalPolynomial}.
+ */
+public class BigRationalPolynomialTest {
+
+	/**
+	 * Tests {@link BigRationalPolynomial#valueOf(BigRational...)}.
+	 */
+	@Test
+	public void testValueOf() {
+		BigRationalPolynomial polynomial = BigRationalPolynomial.valueOf(ONE, ZERO, valueOf(2, 4), ZERO);
+		assertEquals(2, polynomial.getDegree());
+		assertEquals(ONE, polynomial.getCoefficient(0));
+		assertEquals(ZERO, polynomial.getCoefficient(1));
+		assertEquals("1/2", polynomial.getCoefficient(2).toRationalString());
+		assertEquals(ZERO, polynomial.getCoefficient(3));
+		assertEquals("0.5 * x^2 + 1", polynomial.toString());
+
+		assertEquals(polynomial, BigRationalPolynomial.valueOf(valueOf(2, 2), ZERO, valueOf(1, 2)));
+		assertEquals(polynomial.hashCode(), BigRationalPolynomial.valueOf(valueOf(2, 2), ZERO, valueOf(1, 2)).hashCode());
+		assertFalse(polynomial.equals(BigRationalPolynomial.valueOf(ONE, ZERO, valueOf(1, 3))));
+
+		assertEquals(0, BigRationalPolynomial.valueOf().getDegree());
+		assertEquals(0, BigRationalPolynomial.valueOf(ZERO, ZERO).getDegree());
+		assertEquals("0", BigRationalPolynomial.valueOf().toString());
+		assertEquals("-3 * x", BigRationalPolynomial.valueOf(ZERO, valueOf(-3)).toString());
+	}
+
+	/**
+	 * Tests {@link BigRationalPolynomial#evaluate(BigRational)}.
+	 */
+	@Test
+	public void testEvaluate() {
+		// 1/2 - 2/3 x + 3/4 x^3
+		BigRationalPolynomial polynomial = BigRationalPolynomial.valueOf(valueOf(1, 2), valueOf(-2, 3), ZERO, valueOf(3, 4));
+		assertEquals(valueOf(1, 2), polynomial.evaluate(ZERO));
+		assertEquals(valueOf(7, 12), polynomial.evaluate(ONE));
+		assertEquals(valueOf(31, 6), polynomial.evaluate(TWO));
+		assertEquals(valueOf(1, 2).add(valueOf(1, 3)).subtract(valueOf(3, 32)), polynomial.evaluate(valueOf(-1, 2)));
+
+		assertEquals(ZERO, BigRationalPolynomial.valueOf().evaluate(valueOf(5, 7)));
+		assertEquals(valueOf(-3), BigRationalPolynomial.valueOf(valueOf(-3)).evaluate(valueOf(5, 7)));
+
+		Random random = new Random(1234);
+		BigRational[] coefficients = new BigRational[10];
+		for (int i = 0; i < coefficients.length; i++) {
+			coefficients[i] = valueOf(random.nextInt(201) - 100, random.nextInt(100) + 1);
+		}
+		polynomial = BigRationalPolynomial.valueOf(coefficients);
+		for (int k = 0; k < 20; k++) {
+			BigRational x = valueOf(random.nextInt(201) - 100, random.nextInt(100) + 1);
+			assertEquals(evaluateNaive(coefficients, x), polynomial.evaluate(x));
+		}
+	}
+
+	/**
+	 * Tests {@link BigRationalPolynomial#evaluate(BigRational...)}.
+	 */
+	@Test
+	public void testEvaluateMultipoint() {
+		BigRationalPolynomial polynomial = BigRationalPolynomial.valueOf(valueOf(1, 2), valueOf(-2, 3), ZERO, valueOf(3, 4));
+		assertArrayEquals(new BigRational[0], polynomial.evaluate(new BigRational[0]));
+
+		BigRational[] xs = { ZERO, ONE, TWO, valueOf(-1, 2), valueOf(1, 2), valueOf(3, 2), valueOf(7, 5) };
+		BigRational[] expected = new BigRational[xs.length];
+		for (int i = 0; i < xs.length; i++) {
+			expected[i] = polynomial.evaluate(xs[i]);
+		}
+		assertArrayEquals(expected, polynomial.evaluate(xs));
+	}
+
+	private static BigRational evaluateNaive(BigRational[] coefficients, BigRational x) {
+		BigRational result = ZERO;
+		for (int i = 0; i < coefficients.length; i++) {
+			result = result.add(coefficients[i].multiply(x.pow(i)));
+		}
+		return result;
+	}
+}
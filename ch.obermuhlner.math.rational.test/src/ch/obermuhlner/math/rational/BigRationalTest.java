@@ -1,18 +1,32 @@
 package ch.obermuhlner.math.rational;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static ch.obermuhlner.math.rational.BigRational.*;
 
+import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
 import ch.obermuhlner.math.rational.BigRational.Context;
+import ch.obermuhlner.math.rational.BigRational.Normalization;
 
 /**
  * Tests {@link BigRational}.
@@ -20,7 +34,7 @@ import ch.obermuhlner.math.rational.BigRational.Context;
 public class BigRationalTest {
 
 	private static final String PI_STRING = "3.14159265358979323846264338327950288419716939937510582097494459230781640628620899862803482534211706798214808651";
-//								  Pi(1000) = 3.141592653589793238462643383279502884197169399375105820974944592307816406286208998628034825342117067982148086513282306647093844609550582231725359408128481117450284102701938521105559644622948954930381964428810975665933446128475648233786783165271201909145648566923460348610454326648213393607260249141273724587006606315588174881520920962829254091715364367892590360011330530548820466521384146951941511609433057270365759591953092186117381932611793105118548074462379962749567351885752724891227938183011949129833673362440656643086021394946395224737190702179860943702770539217176293176752384674818467669405132000568127145263560827785771342757789609173637178721468440901224953430146549585371050792279689258923542019956112129021960864034418159813629774771309960518707211349999998372978049951059731732816096318595024459455346908302642522308253344685035261931188171010003137838752886587533208381420617177669147303598253490428755468731159562863882353787593751957781857780532171226806613001927876611195909216420199
+	private static final String PI_SCALE_999_STRING = "3.141592653589793238462643383279502884197169399375105820974944592307816406286208998628034825342117067982148086513282306647093844609550582231725359408128481117450284102701938521105559644622948954930381964428810975665933446128475648233786783165271201909145648566923460348610454326648213393607260249141273724587006606315588174881520920962829254091715364367892590360011330530548820466521384146951941511609433057270365759591953092186117381932611793105118548074462379962749567351885752724891227938183011949129833673362440656643086021394946395224737190702179860943702770539217176293176752384674818467669405132000568127145263560827785771342757789609173637178721468440901224953430146549585371050792279689258923542019956112129021960864034418159813629774771309960518707211349999998372978049951059731732816096318595024459455346908302642522308253344685035261931188171010003137838752886587533208381420617177669147303598253490428755468731159562863882353787593751957781857780532171226806613001927876611195909216420199";
 	private static final double DOUBLE_ACCURACY = 0.00000001;
 	private static final int SCALE_FOR_DOUBLE_COMPARISON = 15;
 
@@ -57,6 +71,60 @@ public class BigRationalTest {
 		assertEquals("1/2", valueOf(2, 4).reduce().toRationalString()); // needs reduce
 	}
 
+	/**
+	 * Tests that {@link BigRational#valueOf(int, int)} and {@link BigRational#valueOf(int)} return cached instances for small values.
+	 */
+	@Test
+	public void testValueOfCached() {
+		assertSame(valueOf(1, 2), valueOf(1, 2));
+		assertSame(valueOf(-1, 3), valueOf(1, -3));
+		assertSame(valueOf(3, 4), valueOf(6, 8).reduce());
+		assertSame(valueOf(2, 4), valueOf(2, 4));
+		assertSame(valueOf(-64, 64), valueOf(-64, 64));
+		assertSame(valueOf(64), valueOf(64));
+		assertSame(TWO, valueOf(2));
+		assertSame(TEN, valueOf(10));
+		assertSame(valueOf(1, 2), valueOf(1, 4).add(valueOf(1, 4)));
+
+		assertEquals("2/4", valueOf(2, 4).toRationalString()); // not reduced
+		assertEquals(valueOf(65, 64), valueOf(65, 64));
+		assertEquals(valueOf(1000000), valueOf(1000000));
+	}
+
+	/**
+	 * Tests that the system property <code>ch.obermuhlner.math.rational.BigRational.cacheHigh</code> is bounded,
+	 * using a separate class loader so that the property is read again.
+	 */
+	@Test
+	public void testValueOfCacheHighProperty() throws Exception {
+		assertEquals(1024, loadWithCacheHigh("100000"));
+		assertEquals(1024, loadWithCacheHigh(String.valueOf(Integer.MAX_VALUE)));
+		assertEquals(1000, loadWithCacheHigh("1000"));
+		assertEquals(0, loadWithCacheHigh("-5"));
+		assertEquals(64, loadWithCacheHigh("invalid"));
+	}
+
+	private static int loadWithCacheHigh(String cacheHigh) throws Exception {
+		String key = "ch.obermuhlner.math.rational.BigRational.cacheHigh";
+		String oldValue = System.getProperty(key);
+		System.setProperty(key, cacheHigh);
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { BigRational.class.getProtectionDomain().getCodeSource().getLocation() }, null)) {
+			Class<?> bigRationalClass = Class.forName(BigRational.class.getName(), true, loader);
+			Object value = bigRationalClass.getMethod("valueOf", int.class, int.class).invoke(null, 3, 7);
+			assertEquals("3/7", bigRationalClass.getMethod("toRationalString").invoke(value));
+
+			Field cacheHighField = bigRationalClass.getDeclaredField("CACHE_HIGH");
+			cacheHighField.setAccessible(true);
+			return cacheHighField.getInt(null);
+		} finally {
+			if (oldValue == null) {
+				System.clearProperty(key);
+			} else {
+				System.setProperty(key, oldValue);
+			}
+		}
+	}
+
 	/**
 	 * Tests {@link BigRational#valueOf(int, int, int)}.
 	 */
@@ -114,6 +182,23 @@ public class BigRationalTest {
 		assertEquals("1/10", valueOf(BigInteger.ONE, BigInteger.TEN).toRationalString());
 	}
 	
+	/**
+	 * Tests {@link BigRational#getNumerator()} and {@link BigRational#getDenominator()} with large values.
+	 */
+	@Test
+	public void testGetNumeratorDenominatorLarge() {
+		BigInteger numerator = BigInteger.TEN.pow(30).add(BigInteger.ONE);
+		BigInteger denominator = BigInteger.TEN.pow(31);
+		BigRational L1 = valueOf(numerator, denominator);
+
+		assertEquals(numerator, L1.getNumerator());
+		assertEquals(denominator, L1.getDenominator());
+		assertSame(L1.getNumerator(), L1.getNumerator()); // no conversion
+		assertSame(L1, L1.reduce()); // already reduced
+
+		assertEquals(valueOf(numerator.negate(), denominator), valueOf(numerator, denominator.negate()));
+	}
+
 	/**
 	 * Tests {@link BigRational#valueOf(int, int)} with second argument 0. 
 	 */
@@ -406,11 +491,16 @@ public class BigRationalTest {
 		assertTrue(valueOf(33).equals(valueOf(33)));
 		assertTrue(valueOf(1, 3).equals(valueOf(1, 3)));
 		assertTrue(valueOf(-1, 3).equals(valueOf(1, -3)));
+		assertTrue(valueOf(1, 2).equals(valueOf(2, 4))); // not reduced
+		assertTrue(valueOf(2, 4).equals(valueOf(1, 2))); // not reduced
+		assertTrue(valueOf(2, 4).equals(valueOf(3, 6))); // not reduced
+		assertTrue(valueOf(BigInteger.TEN.pow(30), BigInteger.TEN.pow(31)).equals(valueOf(1, 10))); // not reduced
 
 		assertFalse(ZERO.equals(null));
 		assertFalse(ZERO.equals("string"));
 		assertFalse(ZERO.equals(ONE));
 		assertFalse(valueOf(1, 3).equals(valueOf(1, 4)));
+		assertFalse(valueOf(2, 6).equals(valueOf(2, 8)));
 	}
 
 	/**
@@ -425,15 +515,60 @@ public class BigRationalTest {
 		assertEquals(1, valueOf(1, 2).compareTo(valueOf(1, 3)));
 	}
 	
+	/**
+	 * Tests {@link BigRational#compareTo(BigRational)} with large values that need the different comparison stages.
+	 */
+	@Test
+	public void testCompareToLarge() {
+		BigInteger large = BigInteger.TEN.pow(50);
+		BigRational L1 = valueOf(large, large.add(BigInteger.ONE));
+		BigRational L2 = valueOf(large.add(BigInteger.ONE), large.add(BigInteger.valueOf(2)));
+
+		assertEquals(-1, L1.compareTo(L2)); // needs exact cross products
+		assertEquals(1, L2.compareTo(L1));
+		assertEquals(0, L1.compareTo(valueOf(large.multiply(BigInteger.TEN), large.add(BigInteger.ONE).multiply(BigInteger.TEN))));
+		assertEquals(0, L1.reduce().compareTo(valueOf(large, large.add(BigInteger.ONE)).reduce()));
+
+		assertEquals(1, L1.compareTo(L1.negate())); // sign
+		assertEquals(-1, L1.negate().compareTo(L1)); // sign
+		assertEquals(1, L1.compareTo(ZERO)); // sign
+		assertEquals(-1, L1.compareTo(valueOf(large))); // bit length
+		assertEquals(1, L1.negate().compareTo(valueOf(large).negate())); // bit length
+		assertEquals(-1, L1.compareTo(ONE)); // approximation
+		assertEquals(1, L1.compareTo(valueOf(99, 100))); // approximation
+		assertEquals(-1, L1.negate().compareTo(valueOf(-99, 100))); // approximation
+
+		Random random = new Random(1234);
+		for (int i = 0; i < 1000; i++) {
+			BigInteger n1 = new BigInteger(random.nextInt(200) + 1, random).subtract(BigInteger.ONE.shiftLeft(10));
+			BigInteger d1 = new BigInteger(random.nextInt(200) + 1, random).add(BigInteger.ONE);
+			BigInteger n2 = random.nextBoolean() ? n1.add(BigInteger.valueOf(random.nextInt(3) - 1)) : new BigInteger(random.nextInt(200) + 1, random);
+			BigInteger d2 = random.nextBoolean() ? d1.add(BigInteger.valueOf(random.nextInt(2))) : new BigInteger(random.nextInt(200) + 1, random).add(BigInteger.ONE);
+			int expected = n1.multiply(d2).compareTo(n2.multiply(d1));
+			assertEquals(n1 + "/" + d1 + " <> " + n2 + "/" + d2, expected, valueOf(n1, d1).compareTo(valueOf(n2, d2)));
+		}
+	}
+
 	/**
 	 * Tests {@link BigRational#hashCode()}.
 	 */
 	@Test
 	public void testHashCode() {
-		// no asserts, since hashCode() defines no concrete values
+		// no asserts for concrete values, since hashCode() defines no concrete values
 		ZERO.hashCode();
 		
 		valueOf(1, 3).hashCode();
+
+		// equal values have equal hash codes, even if not reduced
+		assertEquals(valueOf(1, 2).hashCode(), valueOf(2, 4).hashCode());
+		assertEquals(valueOf(-1, 2).hashCode(), valueOf(3, -6).hashCode());
+		assertEquals(valueOf(1, 10).hashCode(), valueOf(BigInteger.TEN.pow(30), BigInteger.TEN.pow(31)).hashCode());
+
+		Map<BigRational, String> map = new HashMap<BigRational, String>();
+		map.put(valueOf(1, 2), "half");
+		assertEquals("half", map.get(valueOf(2, 4)));
+		assertEquals("half", map.get(valueOf(0.5)));
+		assertEquals(null, map.get(valueOf(1, 3)));
 	}
 	
 	/**
@@ -462,6 +597,152 @@ public class BigRationalTest {
 		assertEquals(valueOf(3), max(valueOf(-2), valueOf(3)));
 	}
 
+	/**
+	 * Tests {@link BigRational#sum(BigRational...)}, {@link BigRational#sum(java.util.Collection)} and {@link BigRational#sum(Iterable)}.
+	 */
+	@Test
+	public void testSum() {
+		assertEquals(ZERO, sum());
+		assertEquals(ZERO, sum(new ArrayList<BigRational>()));
+
+		assertEquals(valueOf(3), sum(valueOf(3)));
+		assertEquals(valueOf(1), sum(valueOf(3), valueOf(-2)));
+		assertEquals(valueOf(6), sum(valueOf(1), valueOf(2), valueOf(3)));
+
+		List<BigRational> values = new ArrayList<>();
+		BigRational expected = ZERO;
+		for (int i = 1; i <= 200; i++) {
+			values.add(valueOf(1, i));
+			expected = expected.add(valueOf(1, i));
+		}
+		assertEquals(expected, sum(values));
+		assertEquals(expected, sum(values.toArray(new BigRational[0])));
+		assertEquals(expected, sum((Iterable<BigRational>) values));
+	}
+
+	/**
+	 * Tests {@link BigRational#product(BigRational...)}, {@link BigRational#product(java.util.Collection)} and {@link BigRational#product(Iterable)}.
+	 */
+	@Test
+	public void testProduct() {
+		assertEquals(ONE, product());
+		assertEquals(ONE, product(new ArrayList<BigRational>()));
+
+		assertEquals(valueOf(3), product(valueOf(3)));
+		assertEquals(valueOf(-6), product(valueOf(3), valueOf(-2)));
+		assertEquals(ZERO, product(valueOf(3), ZERO, valueOf(1, 3)));
+
+		List<BigRational> values = new ArrayList<>();
+		for (int i = 1; i <= 50; i++) {
+			values.add(valueOf(i + 1, i));
+		}
+		assertEquals(valueOf(51), product(values));
+		assertEquals(valueOf(51), product((Iterable<BigRational>) values));
+		assertEquals(factorial(30), product(Arrays.asList(factorial(10), factorial(30).divide(factorial(10)))));
+	}
+
+	/**
+	 * Tests {@link BigRational#dot(BigRational[], BigRational[])} and {@link BigRational#parallelDot(BigRational[], BigRational[])}.
+	 */
+	@Test
+	public void testDot() {
+		assertEquals(ZERO, dot(new BigRational[0], new BigRational[0]));
+		assertEquals(ZERO, parallelDot(new BigRational[0], new BigRational[0]));
+
+		BigRational[] x = { valueOf(1, 2), valueOf(2, 3), valueOf(-3, 4) };
+		BigRational[] y = { valueOf(2), valueOf(3, 4), valueOf(2, 3) };
+		assertEquals("1", dot(x, y).toRationalString());
+		assertEquals("1", parallelDot(x, y).toRationalString());
+
+		Random random = new Random(1234);
+		int n = 5000;
+		BigRational[] a = new BigRational[n];
+		BigRational[] b = new BigRational[n];
+		BigRational expected = ZERO;
+		for (int i = 0; i < n; i++) {
+			a[i] = valueOf(random.nextInt(), random.nextInt(1000) + 1);
+			b[i] = i % 100 == 0 ? valueOf(new BigInteger(100, random), BigInteger.valueOf(i + 1)) : valueOf(random.nextInt(100), random.nextInt(100) + 1);
+			expected = expected.add(a[i].multiply(b[i]));
+		}
+		assertEquals(expected, dot(a, b));
+		assertEquals(expected, parallelDot(a, b));
+
+		// large operands with a common denominator and with many distinct large denominators
+		BigInteger large = BigInteger.TEN.pow(30);
+		BigRational expectedCommon = ZERO;
+		BigRational expectedDistinct = ZERO;
+		n = 1000;
+		a = new BigRational[n];
+		b = new BigRational[n];
+		BigRational[] c = new BigRational[n];
+		BigRational[] d = new BigRational[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = valueOf(large.add(BigInteger.valueOf(random.nextInt())), large.multiply(BigInteger.TEN));
+			b[i] = valueOf(random.nextInt(1000), 1000);
+			c[i] = valueOf(BigInteger.valueOf(random.nextInt()), large.add(BigInteger.valueOf(random.nextInt(1000))));
+			d[i] = valueOf(large.add(BigInteger.valueOf(random.nextInt())), BigInteger.valueOf(random.nextInt(100000) + 1));
+			expectedCommon = expectedCommon.add(a[i].multiply(b[i]));
+			expectedDistinct = expectedDistinct.add(c[i].multiply(d[i]));
+		}
+		assertEquals(expectedCommon, dot(a, b));
+		assertEquals(expectedCommon, parallelDot(a, b));
+		assertEquals(expectedDistinct, dot(c, d));
+		assertEquals(expectedDistinct, parallelDot(c, d));
+	}
+
+	/**
+	 * Tests {@link BigRational#dot(BigRational[], BigRational[])} with arrays of different lengths.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testDotDifferentLengths() {
+		dot(new BigRational[] { ONE, TWO }, new BigRational[] { ONE });
+	}
+
+	/**
+	 * Tests {@link BigRational#linearCombination(BigRational[], BigRational[]...)}.
+	 */
+	@Test
+	public void testLinearCombination() {
+		assertArrayEquals(new BigRational[0], linearCombination(new BigRational[0]));
+
+		BigRational[] u = { valueOf(1), valueOf(1, 2), valueOf(0) };
+		BigRational[] v = { valueOf(-1, 3), valueOf(2), valueOf(1, 5) };
+		BigRational[] result = linearCombination(new BigRational[] { valueOf(3), valueOf(1, 2) }, u, v);
+		assertArrayEquals(new BigRational[] { valueOf(17, 6), valueOf(5, 2), valueOf(1, 10) }, result);
+	}
+
+	/**
+	 * Tests {@link BigRational#summing()} and {@link BigRational#summingBy(ToRationalFunction)}.
+	 */
+	@Test
+	public void testSumming() {
+		assertEquals(ZERO, IntStream.range(0, 0).mapToObj(BigRational::valueOf).collect(summing()));
+		assertEquals(valueOf(6), IntStream.rangeClosed(1, 3).mapToObj(BigRational::valueOf).collect(summing()));
+
+		List<BigRational> values = IntStream.rangeClosed(1, 2000).mapToObj(i -> valueOf(1, i)).collect(Collectors.toList());
+		BigRational expected = sum(values);
+		assertEquals(expected, values.stream().collect(summing()));
+		assertEquals(expected, values.parallelStream().collect(summing()));
+
+		assertEquals(expected, IntStream.rangeClosed(1, 2000).boxed().parallel().collect(summingBy((Integer i) -> valueOf(1, i))));
+		assertEquals(valueOf(3), Arrays.asList("1/2", "5/2").stream().collect(summingBy(BigRational::valueOf)));
+	}
+
+	/**
+	 * Tests {@link BigRational#averaging()}.
+	 */
+	@Test
+	public void testAveraging() {
+		assertEquals(ZERO, IntStream.range(0, 0).mapToObj(BigRational::valueOf).collect(averaging()));
+		assertEquals(valueOf(2), IntStream.rangeClosed(1, 3).mapToObj(BigRational::valueOf).collect(averaging()));
+		assertEquals(valueOf(1, 4), Arrays.asList(valueOf(1, 3), valueOf(1, 6)).stream().collect(averaging()));
+
+		List<BigRational> values = IntStream.rangeClosed(1, 2000).mapToObj(i -> valueOf(1, i)).collect(Collectors.toList());
+		BigRational expected = sum(values).divide(2000);
+		assertEquals(expected, values.stream().collect(averaging()));
+		assertEquals(expected, values.parallelStream().collect(averaging()));
+	}
+
 	/**
 	 * Tests that the same instance {@link BigRational#ZERO} is returned from operations with result 0.
 	 */
@@ -584,6 +865,29 @@ public class BigRationalTest {
 		assertEquals("3/7", valueOf(2, 7).add(valueOf(1, 7)).toRationalString());
 	}
 
+	/**
+	 * Tests {@link BigRational#add(BigRational)} and {@link BigRational#subtract(BigRational)} with denominators that have common factors (should work over the least common multiple).
+	 */
+	@Test
+	public void testAddSubtractCommonDenominatorFactors() {
+		assertEquals("16/60", valueOf(2, 12).add(valueOf(1, 10)).toRationalString()); // not reduced
+		assertEquals("4/60", valueOf(2, 12).subtract(valueOf(1, 10)).toRationalString()); // not reduced
+
+		BigRational L1_6 = valueOf(1, 6).reduce();
+		BigRational L1_10 = valueOf(1, 10).reduce();
+		assertEquals("4/15", L1_6.add(L1_10).toRationalString());
+		assertEquals("1/15", L1_6.subtract(L1_10).toRationalString());
+		assertEquals("-1/15", L1_10.subtract(L1_6).toRationalString());
+		assertEquals("1/3", L1_6.add(L1_6).toRationalString());
+		assertSame(ZERO, L1_6.subtract(L1_6));
+
+		BigInteger large = BigInteger.TEN.pow(30);
+		BigRational L1 = valueOf(BigInteger.ONE, large.multiply(BigInteger.valueOf(6))).reduce();
+		BigRational L2 = valueOf(BigInteger.ONE, large.multiply(BigInteger.valueOf(10))).reduce();
+		assertEquals(valueOf(BigInteger.valueOf(4), large.multiply(BigInteger.valueOf(15))).reduce().toRationalString(), L1.add(L2).toRationalString());
+		assertEquals(valueOf(BigInteger.ONE, large.multiply(BigInteger.valueOf(15))).toRationalString(), L1.subtract(L2).toRationalString());
+	}
+
 	/**
 	 * Tests {@link BigRational#add(int)}.
 	 */
@@ -675,6 +979,38 @@ public class BigRationalTest {
 		assertEquals("2", valueOf(1).multiply(valueOf(2)).toString());
 	}
 
+	/**
+	 * Tests {@link BigRational#multiply(BigRational)} and {@link BigRational#divide(BigRational)} with reduced arguments (should cancel common factors).
+	 */
+	@Test
+	public void testMultiplyDivideReduced() {
+		BigRational L3_4 = valueOf(3, 4).reduce();
+		BigRational L8_9 = valueOf(8, 9).reduce();
+		BigRational L9_8 = valueOf(9, 8).reduce();
+
+		assertEquals("2/3", L3_4.multiply(L8_9).toRationalString());
+		assertEquals("-2/3", L3_4.negate().reduce().multiply(L8_9).toRationalString());
+		assertEquals("2/3", L3_4.divide(L9_8).toRationalString());
+		assertEquals("-2/3", L3_4.divide(L9_8.negate().reduce()).toRationalString());
+		assertEquals("1", L8_9.multiply(L9_8).toRationalString());
+		assertEquals("12/8", valueOf(6, 8).multiply(valueOf(2)).toRationalString()); // not reduced
+
+		BigInteger large = BigInteger.TEN.pow(30);
+		BigRational L1 = valueOf(large.add(BigInteger.ONE), large).reduce();
+		BigRational L2 = valueOf(large, large.add(BigInteger.ONE)).reduce();
+		assertEquals("1", L1.multiply(L2).toRationalString());
+		assertEquals("1", L1.divide(L1).toRationalString());
+		assertEquals("1000000000000000000000000000001/1000000000000000000000000000000", L1.multiply(valueOf(3, 7).reduce()).divide(valueOf(3, 7).reduce()).toRationalString());
+	}
+
+	/**
+	 * Tests {@link BigRational#divide(BigRational)} with 0 as reduced argument.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testDivideReducedByZero() {
+		valueOf(2, 3).reduce().divide(ZERO);
+	}
+
 	/**
 	 * Tests {@link BigRational#multiply(int)}.
 	 */
@@ -730,6 +1066,34 @@ public class BigRationalTest {
 		ONE.divide(ZERO);
 	}
 
+	/**
+	 * Tests the automatic promotion from the compact representation to arbitrary precision (and back).
+	 */
+	@Test
+	public void testCompactOverflow() {
+		BigInteger maxInt = BigInteger.valueOf(Integer.MAX_VALUE);
+		BigRational L1 = valueOf(Integer.MAX_VALUE);
+
+		BigRational L3 = L1.multiply(L1).multiply(L1);
+		assertEquals(maxInt.pow(3), L3.getNumerator());
+		assertEquals(valueOf(maxInt.pow(3)), L3);
+		assertEquals(maxInt.pow(3).add(BigInteger.ONE).toString(), L3.increment().toString());
+		assertEquals(maxInt.pow(3).add(maxInt).toString(), L3.add(L1).toString());
+		assertEquals(maxInt.pow(3).subtract(maxInt).toString(), L3.subtract(Integer.MAX_VALUE).toString());
+		assertEquals(maxInt.pow(4).toString(), L3.multiply(Integer.MAX_VALUE).toString());
+
+		assertEquals(L1, L3.divide(L1.multiply(L1)).reduce());
+		assertEquals(-1, L1.compareTo(L3));
+		assertEquals(1, L3.compareTo(L1));
+
+		BigRational L19Digits = valueOf(1000000000).multiply(valueOf(1000000000)).add(ONE);
+		assertEquals(valueOf("1000000000000000001"), L19Digits);
+		assertEquals(valueOf("1000000000000000001").hashCode(), L19Digits.hashCode());
+
+		assertEquals("9223372036854775807", valueOf(Integer.MAX_VALUE).multiply(Integer.MAX_VALUE).multiply(2).add(valueOf(Integer.MAX_VALUE).multiply(4)).add(ONE).toString());
+		assertEquals("-9223372036854775808", valueOf(Integer.MIN_VALUE).multiply(valueOf(Integer.MIN_VALUE)).multiply(-2).toString());
+	}
+
 	/**
 	 * Tests {@link BigRational#pow(int)}.
 	 */
@@ -789,6 +1153,23 @@ public class BigRationalTest {
 		assertEquals("9425947759838359420851623124482936749562312794702543768327889353416977599316221476503087861591808346911623490003549599583369706302603264000000000000000000000000", factorial(101).toString());
 	}
 
+	/**
+	 * Tests {@link BigRational#factorial(int)} with large values, beyond the cached factorials and concurrently.
+	 */
+	@Test
+	public void testFactorialLarge() {
+		BigInteger expected = BigInteger.ONE;
+		for (int i = 1; i <= 3000; i++) {
+			expected = expected.multiply(BigInteger.valueOf(i));
+		}
+		assertEquals(valueOf(expected), factorial(3000));
+		assertEquals(factorial(3000), factorial(2999).multiply(valueOf(3000)));
+		assertEquals(factorial(1001), factorial(1000).multiply(valueOf(1001)));
+
+		List<Integer> values = IntStream.range(0, 200).map(i -> (i * 97) % 1500).boxed().collect(Collectors.toList());
+		values.parallelStream().forEach(n -> assertEquals(factorial(n + 1), factorial(n).multiply(valueOf(n + 1))));
+	}
+
 	/**
 	 * Tests {@link BigRational#factorial(int)}.
 	 */
@@ -797,6 +1178,49 @@ public class BigRationalTest {
 		factorial(-1);
 	}
 	
+	/**
+	 * Tests {@link BigRational#bernoulli(int)}.
+	 */
+	@Test
+	public void testBernoulli() {
+		assertEquals(ONE, bernoulli(0));
+		assertEquals(valueOf(1, 2), bernoulli(1));
+		assertEquals(valueOf(1, 6), bernoulli(2));
+		assertEquals(ZERO, bernoulli(3));
+		assertEquals(valueOf(-1, 30), bernoulli(4));
+		assertEquals(valueOf(1, 42), bernoulli(6));
+		assertEquals(valueOf(-691, 2730), bernoulli(12));
+		assertEquals(valueOf(-174611, 330), bernoulli(20));
+		assertEquals(ZERO, bernoulli(21));
+		assertEquals("-94598037819122125295227433069493721872702841533066936133385696204311395415197247711/33330", bernoulli(100).toRationalString());
+
+		List<Integer> values = IntStream.range(0, 100).map(i -> (i * 37) % 300).boxed().collect(Collectors.toList());
+		values.parallelStream().forEach(n -> assertEquals(bernoulliNumbers(300)[n], bernoulli(n)));
+	}
+
+	/**
+	 * Tests {@link BigRational#bernoulliNumbers(int)}.
+	 */
+	@Test
+	public void testBernoulliNumbers() {
+		assertArrayEquals(new BigRational[] { ONE }, bernoulliNumbers(0));
+		assertArrayEquals(new BigRational[] { ONE, valueOf(1, 2), valueOf(1, 6), ZERO, valueOf(-1, 30) }, bernoulliNumbers(4));
+
+		BigRational[] values = bernoulliNumbers(500);
+		assertEquals(501, values.length);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(bernoulli(i), values[i]);
+		}
+	}
+
+	/**
+	 * Tests {@link BigRational#bernoulli(int)} with a negative value.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testBernoulliNegative() {
+		bernoulli(-1);
+	}
+
 	/**
 	 * Tests {@link BigRational#sqrt(BigRational, int)}.
 	 */
@@ -807,6 +1231,28 @@ public class BigRationalTest {
 		}
 	}
 
+	/**
+	 * Tests {@link BigRational#sqrt(BigRational, int)} with high precision and large or tiny arguments.
+	 */
+	@Test
+	public void testSqrtHighPrecision() {
+		assertEquals("1.41421356237309504880168872420969807856967187537695", sqrt(TWO, 50).toBigDecimal().toPlainString());
+		assertEquals("100.02499687578100594479218787635777800159502436869631", sqrt(valueOf(10005), 50).toBigDecimal().toPlainString());
+		assertEquals("0.57732140095444236008663439573888593575441860364993", sqrt(valueOf("0.3333"), 50).toBigDecimal().toPlainString());
+		assertEquals("1E-15", sqrt(valueOf("1E-30"), 50).toBigDecimal().toString());
+		assertEquals(TEN.pow(50), sqrt(valueOf("1E100"), 50));
+		assertEquals(valueOf(1, 2), sqrt(valueOf(1, 4), 50));
+		assertEquals(ZERO, sqrt(ZERO, 50));
+	}
+
+	/**
+	 * Tests {@link BigRational#sqrt(BigRational, int)} with a negative argument.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testSqrtNegative() {
+		sqrt(valueOf(-1), 50);
+	}
+
 	/**
 	 * Tests {@link BigRational#exp(BigRational, int)}.
 	 */
@@ -817,6 +1263,30 @@ public class BigRationalTest {
 		}
 	}
 
+	/**
+	 * Tests {@link BigRational#exp(BigRational, int)} with high precision and large arguments.
+	 */
+	@Test
+	public void testExpHighPrecision() {
+		assertEquals("26881171418161354484126255515800135873611118.77374192241519160861528028703490956491415887109722", exp(valueOf(100), 50).toBigDecimal().toPlainString());
+		assertEquals("3.720076E-44", exp(valueOf(-100), 50).toBigDecimal().toString());
+		assertEquals("1.64872127070012814684865078781416357165377610071015", exp(valueOf(1, 2), 50).toBigDecimal().toPlainString());
+		assertEquals("0.03877420783172200988689983526759614326014406193602", exp(valueOf(-13, 4), 50).toBigDecimal().toPlainString());
+		assertEquals("1.000000000000000000000000000001", exp(valueOf("1E-30"), 50).toBigDecimal().toPlainString());
+		assertEquals(ONE, exp(ZERO, 50));
+	}
+
+	/**
+	 * Tests {@link BigRational#exp(BigRational, int)} with an argument whose numerator and denominator are outside the range of double.
+	 */
+	@Test
+	public void testExpLargeRepresentation() {
+		BigInteger denominator = BigInteger.TEN.pow(400);
+		BigRational x = valueOf(denominator.multiply(BigInteger.valueOf(100)).add(BigInteger.ONE), denominator);
+		assertEquals("26881171418161354484126255515800135873611118.77374192241519160861528028703490956491415887109722", exp(x, 50).toBigDecimal().toPlainString());
+		assertEquals("3.720076E-44", exp(x.negate(), 50).toBigDecimal().toString());
+	}
+
 	/**
 	 * Tests {@link BigRational#log(BigRational, int)}.
 	 */
@@ -828,6 +1298,33 @@ public class BigRationalTest {
 		}
 	}
 
+	/**
+	 * Tests {@link BigRational#log(BigRational, int)} with high precision and arguments far from 1.
+	 */
+	@Test
+	public void testLogHighPrecision() {
+		assertEquals("69.07755278982137052053974364053092622803304465886319", log(valueOf("1E30"), 50).toBigDecimal().toPlainString());
+		assertEquals("-92.10340371976182736071965818737456830404405954515092", log(valueOf("1E-40"), 50).toBigDecimal().toPlainString());
+		assertEquals("0.69314718055994530941723212145817656807550013436026", log(TWO, 50).toBigDecimal().toPlainString());
+		assertEquals("-2.09186407077839312296798974419607365869623155663855", log(valueOf("0.123456789"), 50).toBigDecimal().toPlainString());
+		assertEquals("9.999999500000033333330833333533333316666668E-8", log(valueOf("1.0000001"), 50).toBigDecimal().toString());
+		assertEquals("18.63140177416801807409393359881987259050436098813006", log(valueOf("123456789.987654321"), 50).toBigDecimal().toPlainString());
+		assertEquals(ZERO, log(ONE, 50));
+	}
+
+	/**
+	 * Tests {@link BigRational#log(BigRational, int)} with a scale that uses the bit-burst algorithm against a scale that uses the series.
+	 */
+	@Test
+	public void testLogBitBurst() {
+		BigRational epsilon = valueOf(BigInteger.ONE, BigInteger.TEN.pow(999));
+		for (String x : new String[] { "1E30", "1E-40", "2", "0.123456789", "1.0000001", "123456789.987654321", "0.70710678" }) {
+			BigRational difference = log(valueOf(x), 2000).subtract(log(valueOf(x), 1000));
+			assertTrue(x, difference.abs().compareTo(epsilon) < 0);
+		}
+		assertEquals(ZERO, log(ONE, 2000));
+	}
+
 	/**
 	 * Tests {@link BigRational#log(BigRational, int)}.
 	 */
@@ -856,6 +1353,36 @@ public class BigRationalTest {
 		}
 	}
 
+	/**
+	 * Tests {@link BigRational#sin(BigRational, int)} and {@link BigRational#cos(BigRational, int)} with high precision and large arguments.
+	 */
+	@Test
+	public void testSinCosHighPrecision() {
+		assertEquals("0.82687954053200256025588742910921814121272496784779", sin(valueOf(1000), 50).toBigDecimal().toPlainString());
+		assertEquals("0.5623790762907029910782492266053959687558118217382", cos(valueOf(1000), 50).toBigDecimal().toPlainString());
+		assertEquals("-0.93799997677473885794846379814904723643183139550803", sin(valueOf(-15, 2), 50).toBigDecimal().toPlainString());
+		assertEquals("0.34663531783502581097161933617189557837175314080506", cos(valueOf(-15, 2), 50).toBigDecimal().toPlainString());
+		assertEquals("0.93675212753314478693853253507491877570809780421237", cos(valueOf(1000000), 50).toBigDecimal().toPlainString());
+		assertEquals("2.64338327950288419716939937511E-21", sin(valueOf("3.14159265358979323846"), 50).toBigDecimal().toString());
+		assertEquals("0.99999999999999999999999999999999999999995", cos(valueOf("1E-20"), 50).toBigDecimal().toPlainString());
+		assertEquals(ZERO, sin(ZERO, 50));
+		assertEquals(ONE, cos(ZERO, 50));
+	}
+
+	/**
+	 * Tests {@link BigRational#sincos(BigRational, int)}.
+	 */
+	@Test
+	public void testSincos() {
+		for (int i = -20; i < 20; i++) {
+			BigRational x = valueOf(i, 3);
+			BigRational[] sincos = sincos(x, 30);
+			assertEquals(sin(x, 30), sincos[0]);
+			assertEquals(cos(x, 30), sincos[1]);
+			assertArrayEquals(sincos, new Context(30).sincos(x));
+		}
+	}
+
 	/**
 	 * Tests {@link BigRational#pi(int)}.
 	 */
@@ -869,6 +1396,74 @@ public class BigRationalTest {
 		}		
 	}
 	
+	/**
+	 * Tests {@link BigRational#pi(int)} with high precision, including the parallel calculation and the cache.
+	 */
+	@Test
+	public void testPiHighPrecision() {
+		BigRational reference = valueOf(PI_SCALE_999_STRING);
+		assertEquals(reference, pi(999));
+		assertEquals(reference, pi(5000).withScale(999));
+		assertEquals(reference, pi(999));
+		assertEquals(valueOf(PI_STRING).withScale(100), pi(100));
+	}
+
+	/**
+	 * Tests {@link BigRational#e(int)}.
+	 */
+	@Test
+	public void testE() {
+		assertEquals("2.71828182845904523536028747135266249775724709369996", e(50).toBigDecimal().toPlainString());
+		assertEquals("2.718281828459045235360287471352662497757247093699959574966968", e(60).toBigDecimal().toPlainString());
+		assertEquals(valueOf("2.718"), e(3));
+		assertEquals(e(40), exp(ONE, 40));
+		assertEquals(e(20), new Context(20).e());
+	}
+
+	/**
+	 * Tests that the cached constants are consistent if they are requested concurrently with different scales.
+	 */
+	@Test
+	public void testConstantsConcurrent() {
+		BigRational reference = valueOf(PI_SCALE_999_STRING);
+		List<Integer> scales = IntStream.range(0, 200).map(i -> (i * 37) % 999).boxed().collect(Collectors.toList());
+		scales.parallelStream().forEach(scale -> {
+			assertEquals(reference.withScale(scale), pi(scale));
+			assertEquals(log(TEN, 999).withScale(scale), log(TEN, scale));
+		});
+	}
+
+	/**
+	 * Tests that the cached constants can be calculated with increasing scales from all threads of the common fork/join pool.
+	 */
+	@Test(timeout=60000)
+	public void testConstantsInCommonPool() {
+		BigRational reference = valueOf(PI_SCALE_999_STRING);
+		BigRational e = e(999);
+		int tasks = 4 * ForkJoinPool.commonPool().getParallelism();
+		IntStream.range(0, tasks).parallel().forEach(i -> {
+			assertEquals(reference, pi(4000 + 500 * i).withScale(999));
+			assertEquals(e, e(4000 + 500 * i).withScale(999));
+		});
+	}
+
+	/**
+	 * Tests that the cached constants are rounded consistently at all scales after a calculation with a higher scale.
+	 */
+	@Test
+	public void testConstantsLowerScales() {
+		BigRational reference = valueOf(PI_SCALE_999_STRING);
+		BigRational e = e(3000).withScale(999);
+		pi(3000);
+		for (int scale : new int[] { 0, 1, 2, 31, 32, 33, 63, 64, 65, 100, 127, 128, 129, 255, 256, 257, 511, 512, 513, 998, 999 }) {
+			assertEquals(reference.withScale(scale), pi(scale));
+			assertEquals(e.withScale(scale), e(scale));
+		}
+		for (int scale : new int[] { 1023, 1024, 1025, 2047, 2048, 2049 }) {
+			assertEquals(reference, pi(scale).withScale(999));
+		}
+	}
+
 	/**
 	 * Tests the {@link Context}.
 	 */
@@ -892,6 +1487,65 @@ public class BigRationalTest {
 		}		
 	}
 
+	/**
+	 * Tests the {@link Context} with a {@link Normalization}.
+	 */
+	@Test
+	public void testContextNormalization() {
+		Context neverContext = new Context(10, Normalization.NEVER);
+		assertSame(Normalization.NEVER, neverContext.getNormalization());
+		assertEquals("4/12", neverContext.multiply(valueOf(2, 4), valueOf(2, 3)).toRationalString());
+
+		Normalization eager = Normalization.threshold(0);
+		Context eagerContext = new Context(10, eager);
+		assertEquals("1/3", eagerContext.multiply(valueOf(2, 4), valueOf(2, 3)).toRationalString());
+		assertEquals("1/2", eagerContext.add(valueOf(1, 4), valueOf(1, 4)).toRationalString());
+		assertEquals("1/4", eagerContext.subtract(valueOf(3, 4), valueOf(1, 2)).toRationalString());
+		assertEquals("2", eagerContext.divide(valueOf(1, 2), valueOf(1, 4)).toRationalString());
+		// only the product 4/12 is not already in lowest terms
+		assertEquals(1, eager.getReductionCount());
+		eager.resetReductionCount();
+		assertEquals(0, eager.getReductionCount());
+		assertEquals("1/6", eagerContext.multiply(valueOf(1, 2), valueOf(1, 3)).toRationalString());
+		assertEquals(0, eager.getReductionCount());
+
+		Normalization threshold = Normalization.threshold(100);
+		Context thresholdContext = new Context(10, threshold);
+		BigRational value = ONE;
+		for (int i = 0; i < 100; i++) {
+			value = thresholdContext.multiply(value, valueOf(6, 2));
+			assertTrue(value.getDenominator().bitLength() <= 101);
+		}
+		assertEquals(valueOf(3).pow(100), value);
+		assertTrue(threshold.getReductionCount() > 0);
+	}
+
+	/**
+	 * Tests {@link BigRational#setDefaultNormalization(Normalization)}.
+	 */
+	@Test
+	public void testDefaultNormalization() {
+		assertSame(Normalization.NEVER, getDefaultNormalization());
+		assertSame(Normalization.NEVER, new Context(10).getNormalization());
+		try {
+			setDefaultNormalization(Normalization.EAGER);
+			assertSame(Normalization.EAGER, new Context(10).getNormalization());
+			assertEquals("1/2", valueOf(2, 8).add(valueOf(2, 8)).toRationalString());
+			assertEquals("3", valueOf(3, 4).divide(valueOf(1, 4)).toRationalString());
+		} finally {
+			setDefaultNormalization(Normalization.NEVER);
+		}
+		assertEquals("4/8", valueOf(2, 8).add(valueOf(2, 8)).toRationalString());
+	}
+
+	/**
+	 * Tests {@link Normalization#threshold(int)} with a negative threshold.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testNormalizationNegativeThreshold() {
+		Normalization.threshold(-1);
+	}
+
 	private static String toString(double value, int scale) {
 		return trimTrailingFractionZeroes(new BigDecimal(String.valueOf(value)).setScale(scale, RoundingMode.HALF_UP).toPlainString());
 	}
@@ -0,0 +1,159 @@
+package ch.obermuhlner.math.rational;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link HypergeometricSeries}.
+ */
+public class HypergeometricSeriesTest {
+
+	private static final HypergeometricSeries E_SERIES = HypergeometricSeries.valueOf(new long[] { 1 }, new long[] { 1 }, new long[] { 1 }, new long[] { 0, 1 });
+
+	// pi/4 = atan(1/2) + atan(1/3), atan(1/x) = sum((-1)^k / ((2k+1) x^(2k+1)))
+	private static final HypergeometricSeries ATAN_1_2_SERIES = HypergeometricSeries.valueOf(new long[] { 1 }, new long[] { 2, 4 }, new long[] { -1 }, new long[] { 4 });
+	private static final HypergeometricSeries ATAN_1_3_SERIES = HypergeometricSeries.valueOf(new long[] { 1 }, new long[] { 3, 6 }, new long[] { -1 }, new long[] { 9 });
+
+	/**
+	 * Tests {@link HypergeometricSeries#sum(int)} with the series of e.
+	 */
+	@Test
+	public void testSumE() {
+		for (int scale : new int[] { 0, 1, 10, 100, 1000 }) {
+			assertEquals(BigRational.e(scale), E_SERIES.sum(scale));
+		}
+		assertEquals("2.7182818285", E_SERIES.sum(10).toString());
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#sum(int)} with alternating arctan series.
+	 */
+	@Test
+	public void testSumArctan() {
+		for (int scale : new int[] { 1, 10, 100, 1000 }) {
+			BigRational pi = ATAN_1_2_SERIES.sum(scale + 2).add(ATAN_1_3_SERIES.sum(scale + 2)).multiply(BigRational.valueOf(4));
+			assertEquals(BigRational.pi(scale), pi.withScale(scale));
+		}
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#sum(int)} with the atanh series of log(2).
+	 */
+	@Test
+	public void testSumLog() {
+		// log(2) = 2 * atanh(1/3) = sum(2 / ((6k+3) 9^k))
+		HypergeometricSeries series = HypergeometricSeries.valueOf(new long[] { 2 }, new long[] { 3, 6 }, new long[] { 1 }, new long[] { 9 });
+		for (int scale : new int[] { 1, 10, 100, 1000 }) {
+			assertEquals(BigRational.log(BigRational.TWO, scale), series.sum(scale));
+		}
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#sum(int)} with a finite series.
+	 */
+	@Test
+	public void testSumFinite() {
+		// sum(binomial(4, k) / 2^k) = (1 + 1/2)^4 with p(k) = 5 - k and q(k) = 2k
+		HypergeometricSeries series = HypergeometricSeries.valueOf(new long[] { 1 }, new long[] { 1 }, new long[] { 5, -1 }, new long[] { 0, 2 });
+		assertEquals(BigRational.valueOf(81, 16), series.sum(10));
+		assertEquals(BigRational.valueOf(5), series.sum(0));
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#sum(int)} with polynomials that change the sign after the first terms.
+	 */
+	@Test
+	public void testSumSignChange() {
+		// sum(10^30 (k - 100) / 2^k) = 10^30 (2 - 200)
+		BigInteger large = BigInteger.TEN.pow(30);
+		BigInteger[] one = { BigInteger.ONE };
+		HypergeometricSeries series = HypergeometricSeries.valueOf(new BigInteger[] { large.multiply(BigInteger.valueOf(-100)), large }, one, one, new BigInteger[] { BigInteger.valueOf(2) });
+		assertEquals(BigRational.valueOf(large.multiply(BigInteger.valueOf(-198))), series.sum(5));
+		assertEquals(BigRational.valueOf(large.multiply(BigInteger.valueOf(-198))), series.sum(0));
+
+		// sum(1 / ((k - 20.5) 3^k)) with b(k) = 2k - 41
+		HypergeometricSeries denominatorSeries = HypergeometricSeries.valueOf(new long[] { 2 }, new long[] { -41, 2 }, new long[] { 1 }, new long[] { 3 });
+		BigRational expected = BigRational.ZERO;
+		for (int k = 0; k < 300; k++) {
+			expected = expected.add(BigRational.valueOf(BigInteger.valueOf(2), BigInteger.valueOf(2 * k - 41).multiply(BigInteger.valueOf(3).pow(k))));
+		}
+		assertEquals(BigRational.valueOf(expected.toBigDecimal(new MathContext(120)).setScale(100, RoundingMode.HALF_UP)), denominatorSeries.sum(100));
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#valueOf(BigInteger[], BigInteger[], BigInteger[], BigInteger[])} with large coefficients.
+	 */
+	@Test
+	public void testValueOfBigInteger() {
+		// sum(1 / (10^30)^k) = 10^30 / (10^30 - 1)
+		BigInteger large = BigInteger.TEN.pow(30);
+		BigInteger[] one = { BigInteger.ONE };
+		HypergeometricSeries series = HypergeometricSeries.valueOf(one, one, one, new BigInteger[] { large });
+		BigRational expected = BigRational.valueOf(large, large.subtract(BigInteger.ONE));
+		BigRational error = expected.subtract(series.sum(200)).abs();
+		assertTrue(error.compareTo(BigRational.valueOf(BigInteger.ONE, BigInteger.TEN.pow(200))) < 0);
+
+		// leading zero coefficients are ignored
+		HypergeometricSeries trimmed = HypergeometricSeries.valueOf(new long[] { 1, 0 }, new long[] { 1, 0, 0 }, new long[] { 1 }, new long[] { 0, 1, 0 });
+		assertEquals(E_SERIES.sum(50), trimmed.sum(50));
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#parallel()} and {@link HypergeometricSeries#sequential()}.
+	 */
+	@Test
+	public void testParallel() {
+		HypergeometricSeries parallel = ATAN_1_3_SERIES.parallel();
+		assertFalse(ATAN_1_3_SERIES.isParallel());
+		assertTrue(parallel.isParallel());
+		assertSame(parallel, parallel.parallel());
+		assertSame(ATAN_1_3_SERIES, ATAN_1_3_SERIES.sequential());
+		assertFalse(parallel.sequential().isParallel());
+
+		for (int scale : new int[] { 10, 1000, 5000 }) {
+			assertEquals(ATAN_1_3_SERIES.sum(scale), parallel.sum(scale));
+			assertEquals(E_SERIES.sum(scale), E_SERIES.parallel().sum(scale));
+		}
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#valueOf(long[], long[], long[], long[])} with a series that does not converge.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testValueOfDivergent() {
+		HypergeometricSeries.valueOf(new long[] { 1 }, new long[] { 1 }, new long[] { 0, 1 }, new long[] { 1 });
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#valueOf(long[], long[], long[], long[])} with a ratio that converges to 1.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testValueOfRatioOne() {
+		HypergeometricSeries.valueOf(new long[] { 1 }, new long[] { 0, 1 }, new long[] { 1, 2 }, new long[] { 3, -2 });
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#valueOf(long[], long[], long[], long[])} with a polynomial without coefficients.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testValueOfEmpty() {
+		HypergeometricSeries.valueOf(new long[] { 1 }, new long[0], new long[] { 1 }, new long[] { 2 });
+	}
+
+	/**
+	 * Tests {@link HypergeometricSeries#sum(int)} with a term that divides by zero.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testSumDivideByZero() {
+		// b(k) = k - 2
+		HypergeometricSeries.valueOf(new long[] { 1 }, new long[] { -2, 1 }, new long[] { 1 }, new long[] { 2 }).sum(10);
+	}
+}
@@ -0,0 +1,104 @@
+package ch.obermuhlner.math.rational;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static ch.obermuhlner.math.rational.BigRational.*;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link MutableBigRational}.
+ */
+public class MutableBigRationalTest {
+
+	/**
+	 * Tests {@link MutableBigRational#MutableBigRational()} and {@link MutableBigRational#set(BigRational)}.
+	 */
+	@Test
+	public void testSet() {
+		assertSame(ZERO, new MutableBigRational().toImmutable());
+		assertEquals("1/2", new MutableBigRational(valueOf(2, 4)).toImmutable().toRationalString());
+
+		BigRational large = valueOf(BigInteger.TEN.pow(30), BigInteger.valueOf(3));
+		assertSame(large, new MutableBigRational().set(large).toImmutable());
+		assertEquals("3/7", new MutableBigRational(large).set(valueOf(3, 7)).toImmutable().toRationalString());
+	}
+
+	/**
+	 * Tests {@link MutableBigRational#addTo(BigRational)}.
+	 */
+	@Test
+	public void testAddTo() {
+		MutableBigRational sum = new MutableBigRational();
+		BigRational expected = ZERO;
+		for (int i = 1; i <= 100; i++) {
+			BigRational x = valueOf(1, i);
+			sum.addTo(x);
+			expected = expected.add(x);
+		}
+		assertEquals(expected, sum.toImmutable());
+	}
+
+	/**
+	 * Tests {@link MutableBigRational#subtractFrom(BigRational)}.
+	 */
+	@Test
+	public void testSubtractFrom() {
+		MutableBigRational difference = new MutableBigRational(valueOf(1, 3));
+		assertEquals("1/12", difference.subtractFrom(valueOf(1, 4)).toImmutable().toRationalString());
+		assertEquals("-1/6", difference.subtractFrom(valueOf(2, 8)).toImmutable().toRationalString());
+
+		MutableBigRational large = new MutableBigRational(valueOf(BigInteger.valueOf(Long.MAX_VALUE - 1)));
+		large.subtractFrom(valueOf(-10));
+		assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.valueOf(9)), large.toImmutable().getNumerator());
+		large.subtractFrom(valueOf(10));
+		assertEquals(valueOf(BigInteger.valueOf(Long.MAX_VALUE - 1)), large.toImmutable());
+	}
+
+	/**
+	 * Tests {@link MutableBigRational#multiplyBy(BigRational)}.
+	 */
+	@Test
+	public void testMultiplyBy() {
+		MutableBigRational product = new MutableBigRational(ONE);
+		BigRational expected = ONE;
+		for (int i = 1; i <= 30; i++) {
+			BigRational x = valueOf(i + 1, i);
+			product.multiplyBy(x);
+			expected = expected.multiply(x);
+		}
+		assertEquals(expected, product.toImmutable());
+		assertEquals("31", product.toImmutable().toRationalString());
+
+		product.multiplyBy(valueOf(BigInteger.TEN.pow(40)));
+		assertEquals(valueOf(BigInteger.TEN.pow(40).multiply(BigInteger.valueOf(31))), product.toImmutable());
+
+		assertSame(ZERO, product.multiplyBy(ZERO).toImmutable());
+	}
+
+	/**
+	 * Tests {@link MutableBigRational#divideBy(BigRational)}.
+	 */
+	@Test
+	public void testDivideBy() {
+		MutableBigRational quotient = new MutableBigRational(valueOf(3, 4));
+		assertEquals("-9/8", quotient.divideBy(valueOf(-2, 3)).toImmutable().toRationalString());
+		assertEquals("-3/4", quotient.divideBy(valueOf(6, 4)).toImmutable().toRationalString());
+
+		BigRational large = valueOf(BigInteger.TEN.pow(30));
+		quotient.divideBy(large);
+		assertEquals(valueOf(BigInteger.valueOf(-3), BigInteger.TEN.pow(30).shiftLeft(2)), quotient.toImmutable());
+		quotient.multiplyBy(large);
+		assertEquals("-3/4", quotient.toImmutable().toRationalString());
+	}
+
+	/**
+	 * Tests {@link MutableBigRational#divideBy(BigRational)} with 0.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testDivideByZero() {
+		new MutableBigRational(ONE).divideBy(ZERO);
+	}
+}
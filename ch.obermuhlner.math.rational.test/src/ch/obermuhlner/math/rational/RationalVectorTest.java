@@ -0,0 +1,152 @@
+package ch.obermuhlner.math.rational;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static ch.obermuhlner.math.rational.BigRational.*;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link RationalVector}.
+ */
+public class RationalVectorTest {
+
+	/**
+	 * Tests {@link RationalVector#valueOf(BigRational...)} and {@link RationalVector#toArray()}.
+	 */
+	@Test
+	public void testValueOf() {
+		BigRational[] values = { valueOf(1, 2), valueOf(2, 3), valueOf(-5, 4), ZERO, valueOf(7) };
+		RationalVector vector = RationalVector.valueOf(values);
+		assertEquals(5, vector.size());
+		assertEquals(BigInteger.valueOf(12), vector.getDenominator());
+		assertArrayEquals(values, vector.toArray());
+		assertEquals("1/2", vector.get(0).toRationalString());
+		assertEquals("-5/4", vector.get(2).toRationalString());
+
+		assertEquals(BigInteger.ONE, RationalVector.valueOf().getDenominator());
+		assertEquals(BigInteger.ONE, RationalVector.valueOf(ZERO, ZERO).getDenominator());
+		assertEquals(BigInteger.valueOf(2), RationalVector.valueOf(valueOf(2, 4), valueOf(4, 4)).getDenominator());
+
+		BigRational large = valueOf(BigInteger.TEN.pow(30), BigInteger.valueOf(7));
+		assertArrayEquals(new BigRational[] { large, valueOf(1, 3) }, RationalVector.valueOf(large, valueOf(1, 3)).toArray());
+		assertEquals("[0.5, 2]", RationalVector.valueOf(valueOf(1, 2), TWO).toString());
+
+		// compact values whose common denominator overflows long
+		BigRational x = valueOf(BigInteger.ONE, BigInteger.valueOf(4294967291L));
+		BigRational y = valueOf(BigInteger.valueOf(-3), BigInteger.valueOf(4294967279L));
+		RationalVector overflow = RationalVector.valueOf(x, y);
+		assertEquals(BigInteger.valueOf(4294967291L).multiply(BigInteger.valueOf(4294967279L)), overflow.getDenominator());
+		assertArrayEquals(new BigRational[] { x, y }, overflow.toArray());
+	}
+
+	/**
+	 * Tests {@link RationalVector#valueOf(long[], long)}.
+	 */
+	@Test
+	public void testValueOfNumerators() {
+		RationalVector prices = RationalVector.valueOf(new long[] { 199, 2450, -100 }, 100);
+		assertArrayEquals(new BigRational[] { valueOf(199, 100), valueOf(49, 2), valueOf(-1) }, prices.toArray());
+		assertEquals(BigInteger.valueOf(100), prices.getDenominator());
+
+		assertEquals(BigInteger.valueOf(4), RationalVector.valueOf(new long[] { 2, 6 }, 8).getDenominator());
+		assertEquals(RationalVector.valueOf(new long[] { -1, 3 }, 4), RationalVector.valueOf(new long[] { 2, -6 }, -8));
+		assertEquals(RationalVector.valueOf(valueOf(BigInteger.valueOf(Long.MIN_VALUE), BigInteger.valueOf(3))), RationalVector.valueOf(new long[] { Long.MIN_VALUE }, 3));
+	}
+
+	/**
+	 * Tests {@link RationalVector#valueOf(long[], long)} with denominator 0.
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testValueOfDenominatorZero() {
+		RationalVector.valueOf(new long[] { 1 }, 0);
+	}
+
+	/**
+	 * Tests {@link RationalVector#equals(Object)} and {@link RationalVector#hashCode()}.
+	 */
+	@Test
+	public void testEquals() {
+		RationalVector vector = RationalVector.valueOf(valueOf(1, 2), valueOf(1, 3));
+		RationalVector same = RationalVector.valueOf(new long[] { 3, 2 }, 6);
+		assertEquals(vector, same);
+		assertEquals(vector.hashCode(), same.hashCode());
+		assertFalse(vector.equals(RationalVector.valueOf(valueOf(1, 2), valueOf(1, 4))));
+		assertFalse(vector.equals(RationalVector.valueOf(valueOf(1, 2))));
+	}
+
+	/**
+	 * Tests {@link RationalVector#slice(int, int)}.
+	 */
+	@Test
+	public void testSlice() {
+		RationalVector vector = RationalVector.valueOf(valueOf(1, 2), valueOf(1, 3), valueOf(1, 4), valueOf(5));
+		assertEquals(RationalVector.valueOf(valueOf(1, 3), valueOf(1, 4)), vector.slice(1, 3));
+		assertEquals(BigInteger.ONE, vector.slice(3, 4).getDenominator());
+		assertEquals(0, vector.slice(2, 2).size());
+		assertEquals(vector, vector.slice(0, 4));
+	}
+
+	/**
+	 * Tests {@link RationalVector#slice(int, int)} with an index out of range.
+	 */
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testSliceOutOfRange() {
+		RationalVector.valueOf(ONE, TWO).slice(1, 3);
+	}
+
+	/**
+	 * Tests {@link RationalVector#add(RationalVector)}.
+	 */
+	@Test
+	public void testAdd() {
+		RationalVector prices = RationalVector.valueOf(new long[] { 199, 250 }, 100);
+		assertEquals(RationalVector.valueOf(new long[] { 398, 500 }, 100), prices.add(prices));
+		assertEquals(RationalVector.valueOf(ZERO, ZERO), prices.add(prices.scale(valueOf(-1))));
+
+		RationalVector x = RationalVector.valueOf(valueOf(1, 2), valueOf(1, 3));
+		RationalVector y = RationalVector.valueOf(valueOf(1, 4), valueOf(2, 3));
+		assertArrayEquals(new BigRational[] { valueOf(3, 4), ONE }, x.add(y).toArray());
+
+		RationalVector max = RationalVector.valueOf(new long[] { Long.MAX_VALUE, 1 }, 3);
+		assertArrayEquals(new BigRational[] { valueOf(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1), BigInteger.valueOf(3)), valueOf(2, 3) }, max.add(max).toArray());
+	}
+
+	/**
+	 * Tests {@link RationalVector#add(RationalVector)} with vectors of different sizes.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddDifferentSizes() {
+		RationalVector.valueOf(ONE, TWO).add(RationalVector.valueOf(ONE));
+	}
+
+	/**
+	 * Tests {@link RationalVector#scale(BigRational)}.
+	 */
+	@Test
+	public void testScale() {
+		RationalVector vector = RationalVector.valueOf(valueOf(1, 2), valueOf(1, 3), valueOf(-2));
+		assertArrayEquals(new BigRational[] { valueOf(3, 4), valueOf(1, 2), valueOf(-3) }, vector.scale(valueOf(3, 2)).toArray());
+		assertEquals(RationalVector.valueOf(ZERO, ZERO, ZERO), vector.scale(ZERO));
+
+		BigRational large = valueOf(BigInteger.TEN.pow(30));
+		assertArrayEquals(new BigRational[] { large.divide(valueOf(2)), large.divide(valueOf(3)), large.multiply(valueOf(-2)) }, vector.scale(large).toArray());
+	}
+
+	/**
+	 * Tests {@link RationalVector#dot(RationalVector)}.
+	 */
+	@Test
+	public void testDot() {
+		BigRational[] x = { valueOf(1, 2), valueOf(2, 3), valueOf(-3, 4) };
+		BigRational[] y = { valueOf(2), valueOf(3, 4), valueOf(2, 3) };
+		assertEquals(ONE, RationalVector.valueOf(x).dot(RationalVector.valueOf(y)));
+		assertEquals(ZERO, RationalVector.valueOf().dot(RationalVector.valueOf()));
+
+		RationalVector max = RationalVector.valueOf(new long[] { Long.MAX_VALUE, Long.MAX_VALUE }, 1);
+		assertEquals(valueOf(BigInteger.valueOf(Long.MAX_VALUE).pow(2).shiftLeft(1)), max.dot(max));
+	}
+}
@@ -1,9 +1,23 @@
 package ch.obermuhlner.math.rational;
 
+import java.lang.ref.SoftReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.stream.Collector;
 
 /**
  * A rational number represented as a quotient of two values.
@@ -13,9 +27,12 @@ import java.math.RoundingMode;
  * 
  * <p><a href="http://en.wikipedia.org/wiki/Rational_number">Wikipedia: Rational number</a></p>
  * 
- * <p>The values are internally stored as {@link BigDecimal} (for performance optimizations) but represented
- * as {@link BigInteger} (for mathematical correctness)
- * when accessed with {@link #getNumerator()} and {@link #getDenominator()}.</p>
+ * <p>The values are internally stored as <code>long</code> as long as they fit (for performance optimizations)
+ * and are automatically promoted to {@link BigInteger} if a calculation overflows.
+ * They are represented as {@link BigInteger}
+ * when accessed with {@link #getNumerator()} and {@link #getDenominator()},
+ * for compact values this creates a new {@link BigInteger} on every call.
+ * The calculations of this package use the <code>long</code> values directly where they can.</p>
  * 
  * <p>The following basic calculations have no loss of precision:
  * <ul>
@@ -76,44 +93,128 @@ public class BigRational implements Comparable<BigRational> {
 	 */
 	public static final Context DEFAULT = new Context(16);
 
-	private static final BigDecimal BIGDECIMAL_MAX_INT = BigDecimal.valueOf(Integer.MAX_VALUE);
+	private static volatile Normalization defaultNormalization = Normalization.NEVER;
 
-	private static BigRational[] factorialCache = new BigRational[100];
+	private static final BigInteger BIGINTEGER_MAX_INT = BigInteger.valueOf(Integer.MAX_VALUE);
+
+	// safe upper bound for the relative error of the double approximation in compareApproximateMagnitude()
+	private static final double COMPARE_APPROXIMATION_ERROR = 0x1p-48;
+
+	// above this bit length the gcd is more expensive than the multiplications it saves
+	static final int GCD_MAX_BIT_LENGTH = 2048;
+
+	// log2(10), the number of bits per decimal digit
+	private static final double LOG2_10 = Math.log(10) / Math.log(2);
+
+	// number of significant bits of a double
+	private static final int DOUBLE_MANTISSA_BITS = 53;
+
+	// additional bits of working precision that absorb the rounding errors of the intermediate results in the series
+	private static final int GUARD_BITS = 32;
+
+	// working precision in bits from which log() uses the bit-burst algorithm instead of the atanh series
+	private static final int BIT_BURST_THRESHOLD = 4096;
+
+	// number of bits of the first truncated argument of the bit-burst algorithm
+	private static final int BIT_BURST_FIRST_BITS = 8;
+
+	// Chudnovsky: 426880 * sqrt(10005) / pi = sum((6k)! (13591409 + 545140134 k) / ((3k)! k!^3 (-640320)^(3k)))
+	// with p(k) = -(6k-5)(2k-1)(6k-1) and q(k) = k^3 640320^3 / 24
+	private static final HypergeometricSeries CHUDNOVSKY_SERIES = HypergeometricSeries.valueOf(
+			new long[] { 13591409, 545140134 },
+			new long[] { 1 },
+			new long[] { 5, -46, 108, -72 },
+			new long[] { 0, 0, 0, 10939058860032000L }).parallel();
+
+	// e = sum(1 / k!)
+	private static final HypergeometricSeries E_SERIES = HypergeometricSeries.valueOf(
+			new long[] { 1 },
+			new long[] { 1 },
+			new long[] { 1 },
+			new long[] { 0, 1 }).parallel();
+
+	// log(2) = 2 * atanh(1/3) = sum(2 / ((6k+3) 9^k))
+	private static final HypergeometricSeries LN2_SERIES = HypergeometricSeries.valueOf(
+			new long[] { 2 },
+			new long[] { 3, 6 },
+			new long[] { 1 },
+			new long[] { 9 }).parallel();
+
+	// log(5/4) = 2 * atanh(1/9) = sum(2 / ((18k+9) 81^k))
+	private static final HypergeometricSeries LN5_4_SERIES = HypergeometricSeries.valueOf(
+			new long[] { 2 },
+			new long[] { 9, 18 },
+			new long[] { 1 },
+			new long[] { 81 }).parallel();
+
+	private static final Constant PI = new Constant(BigRational::calculatePi);
+
+	private static final Constant E = new Constant(BigRational::calculateE);
+
+	private static final Constant LN2 = new Constant(BigRational::calculateLn2);
+
+	private static final Constant LN10 = new Constant(BigRational::calculateLn10);
+
+	// upper bound of the configured CACHE_HIGH, the cache array has (2 * CACHE_HIGH + 1) * CACHE_HIGH elements
+	private static final int MAX_CACHE_HIGH = 1024;
+
+	// the cache contains n/d for -CACHE_HIGH <= n <= CACHE_HIGH and 1 <= d <= CACHE_HIGH
+	private static final int CACHE_HIGH = Math.min(MAX_CACHE_HIGH, Math.max(0, Integer.getInteger("ch.obermuhlner.math.rational.BigRational.cacheHigh", 64)));
+
+	private static final BigRational[] cache = new BigRational[(2 * CACHE_HIGH + 1) * CACHE_HIGH];
 	static {
-		BigRational result = ONE;
-		factorialCache[0] = result;
-		for (int i = 1; i < factorialCache.length; i++) {
-			result = result.multiply(valueOf(i));
-			factorialCache[i] = result;
+		for (BigRational value : new BigRational[] { ZERO, ONE, TWO, TEN }) {
+			if (value.compactNumerator <= CACHE_HIGH && CACHE_HIGH > 0) {
+				value.reduced = true;
+				cache[cacheIndex(value.compactNumerator, 1)] = value;
+			}
 		}
 	}
 
-	private static BigRational[] bernoulliCache = new BigRational[11];
-	static {
-		bernoulliCache[0 / 2] = valueOf(1);
-		bernoulliCache[2 / 2] = valueOf(1, 6);
-		bernoulliCache[4 / 2] = valueOf(-1, 30);
-		bernoulliCache[6 / 2] = valueOf(1, 42);
-		bernoulliCache[8 / 2] = valueOf(-1, 30);
-		bernoulliCache[10 / 2] = valueOf(5, 66);
-		bernoulliCache[12 / 2] = valueOf(-691, 2730);
-		bernoulliCache[14 / 2] = valueOf(7, 6);
-		bernoulliCache[16 / 2] = valueOf(-3617, 510);
-		bernoulliCache[18 / 2] = valueOf(43867, 798);
-		bernoulliCache[20 / 2] = valueOf(-17611, 330);
-	}
+	// the factorials 0! to FACTORIAL_CACHE_HIGH! are cached when they are first needed
+	private static final int FACTORIAL_CACHE_HIGH = Math.max(0, Integer.getInteger("ch.obermuhlner.math.rational.BigRational.factorialCacheHigh", 1000));
+
+	// grows under factorialCacheLock, the array is replaced after the new elements are calculated
+	private static volatile BigRational[] factorialCache = { ONE };
+	private static final Object factorialCacheLock = new Object();
+
+	// below this number of factors the product is calculated sequentially
+	private static final int PRODUCT_TREE_THRESHOLD = 16;
+
+	// the Bernoulli numbers B(2k) at index k, grows under bernoulliCacheLock like the factorialCache
+	private static volatile BigRational[] bernoulliCache = { ONE };
+	private static final Object bernoulliCacheLock = new Object();
 
-	private final BigDecimal numerator;
+	final long compactNumerator;
 
-	private final BigDecimal denominator;
+	final long compactDenominator;
+
+	// null if the value is stored in the compact representation
+	private final BigInteger numerator;
+
+	private final BigInteger denominator;
+
+	// true if this value is known to be in lowest terms (lazily discovered, may stay false for reduced values)
+	private boolean reduced;
+
+	// cached hash code of the reduced value, 0 if not calculated yet
+	private int hash;
 
 	private BigRational(int value) {
-		this(BigDecimal.valueOf(value), BigDecimal.ONE);
+		this(value, 1L);
 	}
 
-	private BigRational(BigDecimal num, BigDecimal denom) {
-		BigDecimal n = num;
-		BigDecimal d = denom;
+	private BigRational(long num, long denom) {
+		// the caller guarantees that denom is positive and that neither value is Long.MIN_VALUE
+		compactNumerator = num;
+		compactDenominator = denom;
+		numerator = null;
+		denominator = null;
+	}
+
+	private BigRational(BigInteger num, BigInteger denom) {
+		BigInteger n = num;
+		BigInteger d = denom;
 
 		if (d.signum() == 0) {
 			throw new ArithmeticException("Divide by zero");
@@ -124,17 +225,46 @@ public class BigRational implements Comparable<BigRational> {
 			d = d.negate();
 		}
 
+		compactNumerator = 0;
+		compactDenominator = 0;
 		numerator = n;
 		denominator = d;
 	}
 
+	/**
+	 * Returns whether this rational number is stored in the compact representation
+	 * (numerator and denominator fit into a <code>long</code>).
+	 * 
+	 * @return <code>true</code> if compact, <code>false</code> if stored with arbitrary precision
+	 */
+	boolean isCompact() {
+		return numerator == null;
+	}
+
+	/**
+	 * Returns the larger bit length of numerator and denominator.
+	 * 
+	 * @return the bit length
+	 */
+	private int bitLength() {
+		if (isCompact()) {
+			return Long.SIZE - Long.numberOfLeadingZeros(Math.abs(compactNumerator) | compactDenominator);
+		}
+		return Math.max(numerator.bitLength(), denominator.bitLength());
+	}
+
 	/**
 	 * Returns the numerator of this rational number.
 	 * 
+	 * <p>If the value is stored in the compact representation a new {@link BigInteger} is created on every call.</p>
+	 * 
 	 * @return the numerator
 	 */
 	public BigInteger getNumerator() {
-		return numerator.toBigInteger();
+		if (isCompact()) {
+			return BigInteger.valueOf(compactNumerator);
+		}
+		return numerator;
 	}
 
 	/**
@@ -143,10 +273,15 @@ public class BigRational implements Comparable<BigRational> {
 	 * <p>Guaranteed to not be 0.</p>
 	 * <p>Guaranteed to be positive.</p>
 	 * 
+	 * <p>If the value is stored in the compact representation a new {@link BigInteger} is created on every call.</p>
+	 * 
 	 * @return the denominator
 	 */
 	public BigInteger getDenominator() {
-		return denominator.toBigInteger();
+		if (isCompact()) {
+			return BigInteger.valueOf(compactDenominator);
+		}
+		return denominator;
 	}
 
 	/**
@@ -155,14 +290,31 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return the reduced rational number
 	 */
 	public BigRational reduce() {
-		BigInteger n = numerator.toBigInteger();
-		BigInteger d = denominator.toBigInteger();
+		if (isReduced()) {
+			return this;
+		}
+
+		BigRational result;
+		if (isCompact()) {
+			long gcd = gcd(compactNumerator, compactDenominator);
+			result = gcd == 1 ? this : valueOf(compactNumerator / gcd, compactDenominator / gcd);
+		}
+		else {
+			BigInteger gcd = numerator.gcd(denominator);
+			result = gcd.equals(BigInteger.ONE) ? this : valueOf(numerator.divide(gcd), denominator.divide(gcd));
+		}
 
-		BigInteger gcd = n.gcd(d);
-		n = n.divide(gcd);
-		d = d.divide(gcd);
+		result.reduced = true;
+		return result;
+	}
 
-		return valueOf(n, d);
+	/**
+	 * Returns whether this rational number is known to be reduced to the smallest numerator/denominator.
+	 * 
+	 * @return <code>true</code> if known to be reduced, <code>false</code> if it is unknown
+	 */
+	private boolean isReduced() {
+		return reduced || isIntegerInternal();
 	}
 
 	/**
@@ -177,6 +329,9 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return the integer part of this rational number
 	 */
 	public BigRational integerPart() {
+		if (isCompact()) {
+			return valueOf(compactNumerator - compactNumerator % compactDenominator, compactDenominator);
+		}
 		return valueOf(numerator.subtract(numerator.remainder(denominator)), denominator);
 	}
 
@@ -192,6 +347,9 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return the fraction part of this rational number
 	 */
 	public BigRational fractionPart() {
+		if (isCompact()) {
+			return valueOf(compactNumerator % compactDenominator, compactDenominator);
+		}
 		return valueOf(numerator.remainder(denominator), denominator);
 	}
 	
@@ -213,6 +371,9 @@ public class BigRational implements Comparable<BigRational> {
 			return this;
 		}
 
+		if (isCompact()) {
+			return valueOf(-compactNumerator, compactDenominator);
+		}
 		return valueOf(numerator.negate(), denominator);
 	}
 
@@ -232,6 +393,9 @@ public class BigRational implements Comparable<BigRational> {
 	 * @throws ArithmeticException if the argument is 0 (division by zero)
 	 */
 	public BigRational reciprocal() {
+		if (isCompact()) {
+			return valueOf(compactDenominator, compactNumerator);
+		}
 		return valueOf(denominator, numerator);
 	}
 
@@ -259,6 +423,9 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return -1, 0 or 1 as the value of this rational number is negative, zero or positive.
 	 */
 	public int signum() {
+		if (isCompact()) {
+			return Long.signum(compactNumerator);
+		}
 		return numerator.signum();
 	}
 
@@ -274,7 +441,14 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return the incremented rational number
 	 */
 	public BigRational increment() {
-		return valueOf(numerator.add(denominator), denominator);
+		if (isCompact()) {
+			try {
+				return valueOf(Math.addExact(compactNumerator, compactDenominator), compactDenominator);
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+		return valueOf(getNumerator().add(getDenominator()), getDenominator());
 	}
 
 	/**
@@ -289,7 +463,14 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return the decremented rational number
 	 */
 	public BigRational decrement() {
-		return valueOf(numerator.subtract(denominator), denominator);
+		if (isCompact()) {
+			try {
+				return valueOf(Math.subtractExact(compactNumerator, compactDenominator), compactDenominator);
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+		return valueOf(getNumerator().subtract(getDenominator()), getDenominator());
 	}
 
 	/**
@@ -297,23 +478,85 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has no loss of precision.</p>
 	 * 
+	 * <p>The result is reduced according to the {@link #getDefaultNormalization() default normalization}.</p>
+	 * 
+	 * <p>The calculation is done over the least common multiple of the denominators.
+	 * If both rational numbers are known to be reduced, then the result is reduced as well.</p>
+	 * 
 	 * @param value the rational number to add
 	 * @return the resulting rational number
 	 */
 	public BigRational add(BigRational value) {
-		if (denominator.equals(value.denominator)) {
-			return valueOf(numerator.add(value.numerator), denominator);
+		return defaultNormalization.normalize(addInternal(value));
+	}
+
+	private BigRational addInternal(BigRational value) {
+		boolean reducedResult = isReduced() && value.isReduced();
+		if (isCompact() && value.isCompact()) {
+			BigRational result = add(compactNumerator, compactDenominator, value.compactNumerator, value.compactDenominator, reducedResult);
+			if (result != null) {
+				return result;
+			}
 		}
+		return add(getNumerator(), getDenominator(), value.getNumerator(), value.getDenominator(), reducedResult);
+	}
 
-		BigDecimal n = numerator.multiply(value.denominator).add(value.numerator.multiply(denominator));
-		BigDecimal d = denominator.multiply(value.denominator);
-		return valueOf(n, d);
+	/**
+	 * Adds the rational numbers a/b and c/d over the least common multiple of the denominators
+	 * (Henrici's algorithm).
+	 * 
+	 * <p>If both rational numbers are reduced, then the result is reduced by taking the gcd only against gcd(b, d).</p>
+	 * <p>Very large denominators are simply cross-multiplied, because their gcd is more expensive than the multiplications it saves.</p>
+	 * 
+	 * @return the resulting rational number, or <code>null</code> if the calculation overflows
+	 */
+	private static BigRational add(long a, long b, long c, long d, boolean reduced) {
+		try {
+			if (b == d && !reduced) {
+				return valueOf(Math.addExact(a, c), b);
+			}
+
+			long gcd = gcd(b, d);
+			long bDivGcd = b / gcd;
+			long t = Math.addExact(Math.multiplyExact(a, d / gcd), Math.multiplyExact(c, bDivGcd));
+			if (t == Long.MIN_VALUE) {
+				return null;
+			}
+			if (!reduced) {
+				return valueOf(t, Math.multiplyExact(bDivGcd, d));
+			}
+
+			long gcd2 = gcd(t, gcd);
+			BigRational result = valueOf(t / gcd2, Math.multiplyExact(bDivGcd, d / gcd2));
+			result.reduced = true;
+			return result;
+		} catch (ArithmeticException e) {
+			// overflow
+			return null;
+		}
 	}
 
-	private BigRational add(BigDecimal value) {
-		return valueOf(numerator.add(value.multiply(denominator)), denominator);
+	private static BigRational add(BigInteger a, BigInteger b, BigInteger c, BigInteger d, boolean reduced) {
+		if (b.equals(d) && !reduced) {
+			return valueOf(a.add(c), b);
+		}
+		if (Math.max(b.bitLength(), d.bitLength()) > GCD_MAX_BIT_LENGTH) {
+			return valueOf(a.multiply(d).add(c.multiply(b)), b.multiply(d));
+		}
+
+		BigInteger gcd = b.gcd(d);
+		BigInteger bDivGcd = b.divide(gcd);
+		BigInteger t = a.multiply(d.divide(gcd)).add(c.multiply(bDivGcd));
+		if (!reduced) {
+			return valueOf(t, bDivGcd.multiply(d));
+		}
+
+		BigInteger gcd2 = t.gcd(gcd);
+		BigRational result = valueOf(t.divide(gcd2), bDivGcd.multiply(d.divide(gcd2)));
+		result.reduced = true;
+		return result;
 	}
-	
+
 	/**
 	 * Calculates the addition (+) of this rational number and the specified argument.
 	 * 
@@ -330,7 +573,7 @@ public class BigRational implements Comparable<BigRational> {
 		if (value.equals(BigInteger.ZERO)) {
 			return this;
 		}
-		return add(new BigDecimal(value));
+		return valueOf(getNumerator().add(value.multiply(getDenominator())), getDenominator());
 	}
 
 	/**
@@ -349,6 +592,13 @@ public class BigRational implements Comparable<BigRational> {
 		if (value == 0) {
 			return this;
 		}
+		if (isCompact()) {
+			try {
+				return valueOf(Math.addExact(compactNumerator, Math.multiplyExact(value, compactDenominator)), compactDenominator);
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
 		return add(BigInteger.valueOf(value));
 	}
 
@@ -357,23 +607,30 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has no loss of precision.</p>
 	 * 
+	 * <p>The result is reduced according to the {@link #getDefaultNormalization() default normalization}.</p>
+	 * 
+	 * <p>The calculation is done over the least common multiple of the denominators.
+	 * If both rational numbers are known to be reduced, then the result is reduced as well.</p>
+	 * 
 	 * @param value the rational number to subtract
 	 * @return the resulting rational number
 	 */
 	public BigRational subtract(BigRational value) {
-		if (denominator.equals(value.denominator)) {
-			return valueOf(numerator.subtract(value.numerator), denominator);
-		}
-
-		BigDecimal n = numerator.multiply(value.denominator).subtract(value.numerator.multiply(denominator));
-		BigDecimal d = denominator.multiply(value.denominator);
-		return valueOf(n, d);
+		return defaultNormalization.normalize(subtractInternal(value));
 	}
 
-	private BigRational subtract(BigDecimal value) {
-		return valueOf(numerator.subtract(value.multiply(denominator)), denominator);
+	private BigRational subtractInternal(BigRational value) {
+		boolean reducedResult = isReduced() && value.isReduced();
+		if (isCompact() && value.isCompact()) {
+			// the compact numerator is never Long.MIN_VALUE, so it can be negated
+			BigRational result = add(compactNumerator, compactDenominator, -value.compactNumerator, value.compactDenominator, reducedResult);
+			if (result != null) {
+				return result;
+			}
+		}
+		return add(getNumerator(), getDenominator(), value.getNumerator().negate(), value.getDenominator(), reducedResult);
 	}
-	
+
 	/**
 	 * Calculates the subtraction (-) of this rational number and the specified argument.
 	 * 
@@ -390,7 +647,7 @@ public class BigRational implements Comparable<BigRational> {
 		if (value.equals(BigInteger.ZERO)) {
 			return this;
 		}
-		return subtract(new BigDecimal(value));
+		return valueOf(getNumerator().subtract(value.multiply(getDenominator())), getDenominator());
 	}
 
 	/**
@@ -409,6 +666,13 @@ public class BigRational implements Comparable<BigRational> {
 		if (value == 0) {
 			return this;
 		}
+		if (isCompact()) {
+			try {
+				return valueOf(Math.subtractExact(compactNumerator, Math.multiplyExact(value, compactDenominator)), compactDenominator);
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
 		return subtract(BigInteger.valueOf(value));
 	}
 
@@ -417,32 +681,81 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has no loss of precision.</p>
 	 * 
+	 * <p>The result is reduced according to the {@link #getDefaultNormalization() default normalization}.</p>
+	 * 
+	 * <p>If both rational numbers are known to be reduced, then common factors are cancelled before multiplying
+	 * and the result is reduced as well.</p>
+	 * 
 	 * @param value the rational number to multiply
 	 * @return the resulting rational number
 	 */
 	public BigRational multiply(BigRational value) {
+		return defaultNormalization.normalize(multiplyInternal(value));
+	}
+
+	private BigRational multiplyInternal(BigRational value) {
 		if (isZero() || value.isZero()) {
 			return ZERO;
 		}
-		if (equals(ONE)) {
+		if (isOne()) {
 			return value;
 		}
-		if (value.equals(ONE)) {
+		if (value.isOne()) {
 			return this;
 		}
 
-		BigDecimal n = numerator.multiply(value.numerator);
-		BigDecimal d = denominator.multiply(value.denominator);
+		if (isReduced() && value.isReduced()) {
+			if (isCompact() && value.isCompact()) {
+				try {
+					return multiplyReduced(compactNumerator, compactDenominator, value.compactNumerator, value.compactDenominator);
+				} catch (ArithmeticException e) {
+					// overflow - continue with arbitrary precision
+				}
+			}
+			return multiplyReduced(getNumerator(), getDenominator(), value.getNumerator(), value.getDenominator());
+		}
+
+		if (isCompact() && value.isCompact()) {
+			try {
+				long n = Math.multiplyExact(compactNumerator, value.compactNumerator);
+				long d = Math.multiplyExact(compactDenominator, value.compactDenominator);
+				return valueOf(n, d);
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+
+		BigInteger n = getNumerator().multiply(value.getNumerator());
+		BigInteger d = getDenominator().multiply(value.getDenominator());
 		return valueOf(n, d);
 	}
 
-	// private, because we want to hide that we use BigDecimal internally
-	private BigRational multiply(BigDecimal value) {
-		BigDecimal n = numerator.multiply(value);
-		BigDecimal d = denominator;
-		return valueOf(n, d);
+	/**
+	 * Multiplies the reduced rational numbers a/b and c/d.
+	 * 
+	 * <p>The common factors gcd(a, d) and gcd(c, b) are cancelled before multiplying,
+	 * so the intermediate products stay small and the result is already reduced.</p>
+	 */
+	private static BigRational multiplyReduced(long a, long b, long c, long d) {
+		long gcd1 = gcd(a, d);
+		long gcd2 = gcd(c, b);
+		long n = Math.multiplyExact(a / gcd1, c / gcd2);
+		long m = Math.multiplyExact(b / gcd2, d / gcd1);
+		BigRational result = valueOf(n, m);
+		result.reduced = true;
+		return result;
 	}
-	
+
+	private static BigRational multiplyReduced(BigInteger a, BigInteger b, BigInteger c, BigInteger d) {
+		BigInteger gcd1 = a.gcd(d);
+		BigInteger gcd2 = c.gcd(b);
+		BigInteger n = a.divide(gcd1).multiply(c.divide(gcd2));
+		BigInteger m = b.divide(gcd2).multiply(d.divide(gcd1));
+		BigRational result = valueOf(n, m);
+		result.reduced = true;
+		return result;
+	}
+
 	/**
 	 * Calculates the multiplication (*) of this rational number and the specified argument.
 	 * 
@@ -459,14 +772,16 @@ public class BigRational implements Comparable<BigRational> {
 		if (isZero() || value.signum() == 0) {
 			return ZERO;
 		}
-		if (equals(ONE)) {
+		if (isOne()) {
 			return valueOf(value);
 		}
 		if (value.equals(BigInteger.ONE)) {
 			return this;
 		}
 
-		return multiply(new BigDecimal(value));
+		BigInteger n = getNumerator().multiply(value);
+		BigInteger d = getDenominator();
+		return valueOf(n, d);
 	}
 
 	/**
@@ -482,6 +797,16 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return the resulting rational number
 	 */
 	public BigRational multiply(int value) {
+		if (isCompact()) {
+			if (value == 0 || isZero()) {
+				return ZERO;
+			}
+			try {
+				return valueOf(Math.multiplyExact(compactNumerator, value), compactDenominator);
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
 		return multiply(BigInteger.valueOf(value));
 	}
 
@@ -490,26 +815,54 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has no loss of precision.</p>
 	 * 
+	 * <p>The result is reduced according to the {@link #getDefaultNormalization() default normalization}.</p>
+	 * 
+	 * <p>If both rational numbers are known to be reduced, then common factors are cancelled before multiplying
+	 * and the result is reduced as well.</p>
+	 * 
 	 * @param value the rational number to divide (0 is not allowed)
 	 * @return the resulting rational number
 	 * @throws ArithmeticException if the argument is 0 (division by zero)
 	 */
 	public BigRational divide(BigRational value) {
-		if (value.equals(ONE)) {
+		return defaultNormalization.normalize(divideInternal(value));
+	}
+
+	private BigRational divideInternal(BigRational value) {
+		if (value.isOne()) {
 			return this;
 		}
 
-		BigDecimal n = numerator.multiply(value.denominator);
-		BigDecimal d = denominator.multiply(value.numerator);
-		return valueOf(n, d);
-	}
+		if (isReduced() && value.isReduced()) {
+			if (value.isZero()) {
+				throw new ArithmeticException("Divide by zero");
+			}
+			// a/b / c/d = a/b * d/c (the sign of c is normalized by the result)
+			if (isCompact() && value.isCompact()) {
+				try {
+					return multiplyReduced(compactNumerator, compactDenominator, value.compactDenominator, value.compactNumerator);
+				} catch (ArithmeticException e) {
+					// overflow - continue with arbitrary precision
+				}
+			}
+			return multiplyReduced(getNumerator(), getDenominator(), value.getDenominator(), value.getNumerator());
+		}
+
+		if (isCompact() && value.isCompact()) {
+			try {
+				long n = Math.multiplyExact(compactNumerator, value.compactDenominator);
+				long d = Math.multiplyExact(compactDenominator, value.compactNumerator);
+				return valueOf(n, d);
+			} catch (ArithmeticException e) {
+				// overflow (or division by zero) - continue with arbitrary precision
+			}
+		}
 
-	private BigRational divide(BigDecimal value) {
-		BigDecimal n = numerator;
-		BigDecimal d = denominator.multiply(value);
+		BigInteger n = getNumerator().multiply(value.getDenominator());
+		BigInteger d = getDenominator().multiply(value.getNumerator());
 		return valueOf(n, d);
 	}
-	
+
 	/**
 	 * Calculates the division (/) of this rational number and the specified argument.
 	 * 
@@ -528,7 +881,9 @@ public class BigRational implements Comparable<BigRational> {
 			return this;
 		}
 
-		return divide(new BigDecimal(value));
+		BigInteger n = getNumerator();
+		BigInteger d = getDenominator().multiply(value);
+		return valueOf(n, d);
 	}
 
 	/**
@@ -545,6 +900,13 @@ public class BigRational implements Comparable<BigRational> {
 	 * @throws ArithmeticException if the argument is 0 (division by zero)
 	 */
 	public BigRational divide(int value) {
+		if (isCompact() && value != 0) {
+			try {
+				return valueOf(compactNumerator, Math.multiplyExact(compactDenominator, value));
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
 		return divide(BigInteger.valueOf(value));
 	}
 
@@ -554,15 +916,18 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return <code>true</code> if this rational number is zero (0), <code>false</code> if it is not zero
 	 */
 	public boolean isZero() {
-		return numerator.signum() == 0;
+		return signum() == 0;
 	}
 
 	private boolean isOne() {
+		if (isCompact()) {
+			return compactNumerator == compactDenominator;
+		}
 		return numerator.equals(denominator);
 	}
 
 	private boolean isPositive() {
-		return numerator.signum() > 0;
+		return signum() > 0;
 	}
 
 	/**
@@ -583,7 +948,10 @@ public class BigRational implements Comparable<BigRational> {
 	 * @see #isInteger()
 	 */
 	private boolean isIntegerInternal() {
-		return denominator.compareTo(BigDecimal.ONE) == 0;
+		if (isCompact()) {
+			return compactDenominator == 1;
+		}
+		return denominator.equals(BigInteger.ONE);
 	}
 
 	/**
@@ -606,12 +974,12 @@ public class BigRational implements Comparable<BigRational> {
 		final BigInteger n;
 		final BigInteger d;
 		if (exponent > 0) {
-			n = numerator.toBigInteger().pow(exponent);
-			d = denominator.toBigInteger().pow(exponent);
+			n = getNumerator().pow(exponent);
+			d = getDenominator().pow(exponent);
 		}
 		else {
-			n = denominator.toBigInteger().pow(-exponent);
-			d = numerator.toBigInteger().pow(-exponent);
+			n = getDenominator().pow(-exponent);
+			d = getNumerator().pow(-exponent);
 		}
 		return valueOf(n, d);
 	}
@@ -632,8 +1000,8 @@ public class BigRational implements Comparable<BigRational> {
 		// TODO calculate with taylor series?
 
 		BigRational reducedExponent = exponent.reduce();
-		if (reducedExponent.isIntegerInternal() && reducedExponent.numerator.compareTo(BIGDECIMAL_MAX_INT) < 0) {
-			return pow(reducedExponent.numerator.intValue());
+		if (reducedExponent.isIntegerInternal() && reducedExponent.getNumerator().compareTo(BIGINTEGER_MAX_INT) < 0) {
+			return pow(reducedExponent.getNumerator().intValue());
 		}
 		return exp(reducedExponent.multiply(log(this, scale + 4)), scale);
 	}
@@ -687,9 +1055,27 @@ public class BigRational implements Comparable<BigRational> {
 		return digitCount;
 	}
 
+	// same result as countDigits(BigInteger.valueOf(number))
+	private static int countDigits(long number) {
+		double factor = Math.log(2) / Math.log(10);
+		int bitLength = Long.SIZE - Long.numberOfLeadingZeros(number ^ (number >> 63));
+		int digitCount = (int) (factor * bitLength + 1);
+		long power = 1;
+		for (int i = 1; i < digitCount; i++) {
+			power *= 10;
+		}
+		if (power > number) {
+			return digitCount - 1;
+		}
+		return digitCount;
+	}
+
 	// TODO what is precision of a rational?
 	private int precision() {
-		return countDigits(numerator.toBigInteger()) + countDigits(denominator.toBigInteger());
+		if (isCompact()) {
+			return countDigits(compactNumerator) + countDigits(compactDenominator);
+		}
+		return countDigits(numerator) + countDigits(denominator);
 	}
 
 	/**
@@ -699,6 +1085,9 @@ public class BigRational implements Comparable<BigRational> {
 	 */
 	public double toDouble() {
 		// TODO best accuracy or maybe bigDecimalValue().doubleValue() is better?
+		if (isCompact()) {
+			return (double) compactNumerator / (double) compactDenominator;
+		}
 		return numerator.doubleValue() / denominator.doubleValue();
 	}
 
@@ -708,6 +1097,9 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return the float value
 	 */
 	public float toFloat() {
+		if (isCompact()) {
+			return (float) compactNumerator / (float) compactDenominator;
+		}
 		return numerator.floatValue() / denominator.floatValue();
 	}
 
@@ -728,25 +1120,130 @@ public class BigRational implements Comparable<BigRational> {
 	 * @return the {@link BigDecimal}
 	 */
 	public BigDecimal toBigDecimal(MathContext mc) {
-		return numerator.divide(denominator, mc);
+		if (isCompact()) {
+			return BigDecimal.valueOf(compactNumerator).divide(BigDecimal.valueOf(compactDenominator), mc);
+		}
+		return new BigDecimal(numerator).divide(new BigDecimal(getDenominator()), mc);
 	}
 
+	/**
+	 * Compares this rational number with the specified rational number.
+	 * 
+	 * <p>The comparison is decided by the cheapest of the following stages that is conclusive:
+	 * <ol>
+	 * <li>the signs of both numbers</li>
+	 * <li>the bit lengths of the cross products</li>
+	 * <li>a double approximation of the ratio of both numbers with a bounded error</li>
+	 * <li>the exact cross products</li>
+	 * </ol>
+	 * </p>
+	 * 
+	 * @param other the rational number to compare with
+	 * @return -1, 0 or 1 as this rational number is numerically less than, equal to, or greater than the specified rational number
+	 */
 	@Override
 	public int compareTo(BigRational other) {
 		if (this == other) {
 			return 0;
 		}
-		return numerator.multiply(other.denominator).compareTo(denominator.multiply(other.numerator));
+
+		int signum = signum();
+		int otherSignum = other.signum();
+		if (signum != otherSignum) {
+			return signum < otherSignum ? -1 : 1;
+		}
+		if (signum == 0) {
+			return 0;
+		}
+
+		if (isCompact() && other.isCompact()) {
+			try {
+				return Long.compare(Math.multiplyExact(compactNumerator, other.compactDenominator), Math.multiplyExact(compactDenominator, other.compactNumerator));
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+
+		BigInteger n1 = getNumerator().abs();
+		BigInteger d1 = getDenominator();
+		BigInteger n2 = other.getNumerator().abs();
+		BigInteger d2 = other.getDenominator();
+
+		// bitLength(a*b) is either bitLength(a)+bitLength(b) or one less
+		int leftBitLength = n1.bitLength() + d2.bitLength();
+		int rightBitLength = n2.bitLength() + d1.bitLength();
+		if (leftBitLength - 1 > rightBitLength) {
+			return signum;
+		}
+		if (rightBitLength - 1 > leftBitLength) {
+			return -signum;
+		}
+
+		int magnitudeComparison = compareApproximateMagnitude(n1, d1, n2, d2);
+		if (magnitudeComparison != 0) {
+			return signum * magnitudeComparison;
+		}
+
+		if (isReduced() && other.isReduced() && equals(other)) {
+			return 0;
+		}
+		return getNumerator().multiply(other.getDenominator()).compareTo(getDenominator().multiply(other.getNumerator()));
+	}
+
+	/**
+	 * Compares the positive rational numbers n1/d1 and n2/d2 using a double approximation of their ratio.
+	 * 
+	 * <p>Every value is truncated to its 63 most significant bits, so the ratio
+	 * <code>(n1*d2)/(d1*n2)</code> has a relative error below 2<sup>-50</sup>.</p>
+	 * 
+	 * @return -1 or 1 if the approximation is conclusive, 0 if it is not
+	 */
+	private static int compareApproximateMagnitude(BigInteger n1, BigInteger d1, BigInteger n2, BigInteger d2) {
+		int shiftN1 = Math.max(0, n1.bitLength() - 63);
+		int shiftD1 = Math.max(0, d1.bitLength() - 63);
+		int shiftN2 = Math.max(0, n2.bitLength() - 63);
+		int shiftD2 = Math.max(0, d2.bitLength() - 63);
+
+		double left = (double) n1.shiftRight(shiftN1).longValue() * (double) d2.shiftRight(shiftD2).longValue();
+		double right = (double) d1.shiftRight(shiftD1).longValue() * (double) n2.shiftRight(shiftN2).longValue();
+		double ratio = Math.scalb(left / right, shiftN1 + shiftD2 - shiftD1 - shiftN2);
+
+		if (ratio > 1 + COMPARE_APPROXIMATION_ERROR) {
+			return 1;
+		}
+		if (ratio < 1 - COMPARE_APPROXIMATION_ERROR) {
+			return -1;
+		}
+		return 0;
 	}
 
 	@Override
 	public int hashCode() {
-		if (isZero()) {
-			return 0;
+		int h = hash;
+		if (h == 0 && !isZero()) {
+			BigRational r = reduce();
+			if (r.isCompact()) {
+				h = 31 * Long.hashCode(r.compactNumerator) + Long.hashCode(r.compactDenominator);
+			}
+			else {
+				h = 31 * r.numerator.hashCode() + r.denominator.hashCode();
+			}
+			hash = h;
 		}
-		return numerator.hashCode() + denominator.hashCode();
+		return h;
 	}
 
+	/**
+	 * Compares this rational number with the specified object for equality.
+	 * 
+	 * <p>Two rational numbers are equal if they have the same value,
+	 * even if they are not reduced to the same numerator/denominator (<code>1/2</code> equals <code>2/4</code>).</p>
+	 * 
+	 * <p>Comparing two reduced rational numbers is faster than comparing unreduced ones.</p>
+	 * 
+	 * @param obj the object to compare with
+	 * @return <code>true</code> if the specified object is a rational number with the same value
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		if (obj == this) {
@@ -758,10 +1255,20 @@ public class BigRational implements Comparable<BigRational> {
 		}
 
 		BigRational other = (BigRational) obj;
-		if (!numerator.equals(other.numerator)) {
+		if (isReduced() && other.isReduced()) {
+			// the reduced form is unique and the compact representation is always used if the values fit
+			if (isCompact() != other.isCompact()) {
+				return false;
+			}
+			if (isCompact()) {
+				return compactNumerator == other.compactNumerator && compactDenominator == other.compactDenominator;
+			}
+			return numerator.equals(other.numerator) && denominator.equals(other.denominator);
+		}
+		if (hash != 0 && other.hash != 0 && hash != other.hash) {
 			return false;
 		}
-		return denominator.equals(other.denominator);
+		return compareTo(other) == 0;
 	}
 
 	@Override
@@ -770,7 +1277,7 @@ public class BigRational implements Comparable<BigRational> {
 			return "0";
 		}
 		if (isIntegerInternal()) {
-			return numerator.toString();
+			return getNumerator().toString();
 		}
 		return toBigDecimal().toString();
 	}
@@ -786,7 +1293,7 @@ public class BigRational implements Comparable<BigRational> {
 			return "0";
 		}
 		if (isIntegerInternal()) {
-			return numerator.toPlainString();
+			return getNumerator().toString();
 		}
 		return toBigDecimal().toPlainString();
 	}
@@ -813,9 +1320,9 @@ public class BigRational implements Comparable<BigRational> {
 			return "0";
 		}
 		if (isIntegerInternal()) {
-			return numerator.toString();
+			return getNumerator().toString();
 		}
-		return numerator + "/" + denominator;
+		return getNumerator() + "/" + getDenominator();
 	}
 
 	/**
@@ -831,9 +1338,9 @@ public class BigRational implements Comparable<BigRational> {
 	 * @see #valueOf(int, int, int)
 	 */
 	public String toIntegerRationalString() {
-		BigDecimal fractionNumerator = numerator.remainder(denominator);
-		BigDecimal integerNumerator = numerator.subtract(fractionNumerator);
-		BigDecimal integerPart = integerNumerator.divide(denominator);
+		BigInteger[] integerAndFraction = getNumerator().divideAndRemainder(getDenominator());
+		BigInteger integerPart = integerAndFraction[0];
+		BigInteger fractionNumerator = integerAndFraction[1];
 
 		StringBuilder result = new StringBuilder();
 		if (integerPart.signum() != 0) {
@@ -845,7 +1352,7 @@ public class BigRational implements Comparable<BigRational> {
 			}
 			result.append(fractionNumerator.abs());
 			result.append('/');
-			result.append(denominator);
+			result.append(getDenominator());
 		}
 		if (result.length() == 0) {
 			result.append('0');
@@ -867,19 +1374,23 @@ public class BigRational implements Comparable<BigRational> {
 		if (value == 1) {
 			return ONE;
 		}
-		return new BigRational(value);
+		return valueOf((long) value, 1L);
 	}
 
 	/**
 	 * Creates a rational number of the specified numerator/denominator int values.
 	 * 
+	 * <p>Small values (by default numerator and denominator up to 64) are cached,
+	 * the range can be configured with the system property <code>ch.obermuhlner.math.rational.BigRational.cacheHigh</code>
+	 * (from 0 to at most 1024, larger values are limited to 1024).</p>
+	 * 
 	 * @param numerator the numerator int value
 	 * @param denominator the denominator int value (0 not allowed)
 	 * @return the rational number
 	 * @throws ArithmeticException if the denominator is 0 (division by zero)
 	 */
 	public static BigRational valueOf(int numerator, int denominator) {
-		return valueOf(BigDecimal.valueOf(numerator), BigDecimal.valueOf(denominator));
+		return valueOf((long) numerator, (long) denominator);
 	}
 
 	/**
@@ -916,7 +1427,16 @@ public class BigRational implements Comparable<BigRational> {
 	 * @throws ArithmeticException if the denominator is 0 (division by zero)
 	 */
 	public static BigRational valueOf(BigInteger numerator, BigInteger denominator) {
-		return valueOf(new BigDecimal(numerator), new BigDecimal(denominator));
+		if (numerator.signum() == 0 && denominator.signum() != 0) {
+			return ZERO;
+		}
+		if (numerator.equals(BigInteger.ONE) && denominator.equals(BigInteger.ONE)) {
+			return ONE;
+		}
+		if (isCompactValue(numerator) && isCompactValue(denominator)) {
+			return valueOf(numerator.longValue(), denominator.longValue());
+		}
+		return new BigRational(numerator, denominator);
 	}
 
 	/**
@@ -972,13 +1492,13 @@ public class BigRational implements Comparable<BigRational> {
 			return ONE;
 		}
 		if (value.scale() < 0) {
-			BigDecimal n = new BigDecimal(value.unscaledValue().multiply(BigInteger.TEN.pow(-value.scale())));
-			return new BigRational(n, BigDecimal.ONE);
+			BigInteger n = value.unscaledValue().multiply(BigInteger.TEN.pow(-value.scale()));
+			return valueOf(n, BigInteger.ONE);
 		}
 		else {
-			BigDecimal n = new BigDecimal(value.unscaledValue());
-			BigDecimal d = new BigDecimal(BigInteger.TEN.pow(value.scale()));
-			return new BigRational(n, d);
+			BigInteger n = value.unscaledValue();
+			BigInteger d = BigInteger.TEN.pow(value.scale());
+			return valueOf(n, d);
 		}
 	}
 
@@ -1123,14 +1643,74 @@ public class BigRational implements Comparable<BigRational> {
 		return result;
 	}
 
-	private static BigRational valueOf(BigDecimal numerator, BigDecimal denominator) {
-		if (numerator.signum() == 0 && denominator.signum() != 0) {
+	private static BigRational valueOf(long numerator, long denominator) {
+		if (denominator == 0) {
+			throw new ArithmeticException("Divide by zero");
+		}
+		if (numerator == 0) {
 			return ZERO;
 		}
-		if (numerator.compareTo(BigDecimal.ONE) == 0 && denominator.compareTo(BigDecimal.ONE) == 0) {
+		if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+			// cannot be negated in the compact representation
+			return new BigRational(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+		}
+
+		long n = numerator;
+		long d = denominator;
+		if (d < 0) {
+			n = -n;
+			d = -d;
+		}
+		if (n == 1 && d == 1) {
 			return ONE;
 		}
-		return new BigRational(numerator, denominator);
+		if (n >= -CACHE_HIGH && n <= CACHE_HIGH && d <= CACHE_HIGH) {
+			return valueOfCached(n, d);
+		}
+		return new BigRational(n, d);
+	}
+
+	/**
+	 * Creates a rational number of the specified numerator/denominator long values,
+	 * which the caller guarantees to be in lowest terms.
+	 */
+	static BigRational valueOfReduced(long numerator, long denominator) {
+		BigRational result = valueOf(numerator, denominator);
+		result.reduced = true;
+		return result;
+	}
+
+	private static int cacheIndex(long numerator, long denominator) {
+		return (int) ((denominator - 1) * (2 * CACHE_HIGH + 1) + numerator + CACHE_HIGH);
+	}
+
+	private static BigRational valueOfCached(long numerator, long denominator) {
+		int index = cacheIndex(numerator, denominator);
+		BigRational result = cache[index];
+		if (result == null) {
+			// racing threads may create the same value twice, which is harmless (final fields are safely published)
+			result = new BigRational(numerator, denominator);
+			result.reduced = gcd(numerator, denominator) == 1;
+			cache[index] = result;
+		}
+		return result;
+	}
+
+	private static boolean isCompactValue(BigInteger value) {
+		// Long.MIN_VALUE is excluded, because it cannot be negated
+		return value.bitLength() < Long.SIZE && value.longValue() != Long.MIN_VALUE;
+	}
+
+	static long gcd(long a, long b) {
+		// the arguments are never Long.MIN_VALUE, so the absolute values cannot overflow
+		long x = Math.abs(a);
+		long y = Math.abs(b);
+		while (y != 0) {
+			long t = x % y;
+			x = y;
+			y = t;
+		}
+		return x;
 	}
 
 	/**
@@ -1169,41 +1749,467 @@ public class BigRational implements Comparable<BigRational> {
 	}
 
 	/**
-	 * Calculates the factorial (n * (n-1) * (n-2) * ... * 1) of the specified int value.
+	 * Returns the sum of the specified rational numbers.
 	 * 
-	 * <p>The result has no loss of precision.</p>
+	 * <p>The values are added pairwise in a balanced binary tree instead of from left to right,
+	 * so that the operands of each addition have similar size.
+	 * This is much faster than a loop with {@link #add(BigRational)} if the denominators differ.</p>
 	 * 
-	 * @param n the int value to calculate the factorial of
-	 * @return the resulting rational number
+	 * @param values the rational numbers to add
+	 * @return the sum, 0 if no numbers are specified
 	 */
-	public static BigRational factorial(int n) {
-		if (n < 0) {
-			// TODO document
-			throw new ArithmeticException("Negative value");
-		}
-		if (n < factorialCache.length) {
-			return factorialCache[n];
-		}
+	public static BigRational sum(BigRational... values) {
+		return reduceBalanced(values, ZERO, BigRational::add);
+	}
 
-		BigRational result = factorialCache[factorialCache.length - 1];
-		for (int i = factorialCache.length; i <= n; i++) {
-			result = result.multiply(valueOf(i));
-		}
-		return result;
+	/**
+	 * Returns the sum of the specified rational numbers.
+	 * 
+	 * @param values the rational numbers to add
+	 * @return the sum, 0 if no numbers are specified
+	 * @see #sum(BigRational...)
+	 */
+	public static BigRational sum(Collection<BigRational> values) {
+		return sum(values.toArray(new BigRational[values.size()]));
 	}
 
-	public static BigRational bernoulli(int n) {
-		if (n < 0) {
-			// TODO document
-			throw new ArithmeticException("Negative value");
-		}
-		if (n == 1) {
-			return valueOf(1, 2);
-		}
-		if (n % 2 == 1) {
+	/**
+	 * Returns the sum of the specified rational numbers.
+	 * 
+	 * @param values the rational numbers to add
+	 * @return the sum, 0 if no numbers are specified
+	 * @see #sum(BigRational...)
+	 */
+	public static BigRational sum(Iterable<BigRational> values) {
+		return sum(toList(values));
+	}
+
+	/**
+	 * Returns the product of the specified rational numbers.
+	 * 
+	 * <p>The values are multiplied pairwise in a balanced binary tree instead of from left to right,
+	 * so that the operands of each multiplication have similar size.</p>
+	 * 
+	 * @param values the rational numbers to multiply
+	 * @return the product, 1 if no numbers are specified
+	 */
+	public static BigRational product(BigRational... values) {
+		return reduceBalanced(values, ONE, BigRational::multiply);
+	}
+
+	/**
+	 * Returns the product of the specified rational numbers.
+	 * 
+	 * @param values the rational numbers to multiply
+	 * @return the product, 1 if no numbers are specified
+	 * @see #product(BigRational...)
+	 */
+	public static BigRational product(Collection<BigRational> values) {
+		return product(values.toArray(new BigRational[values.size()]));
+	}
+
+	/**
+	 * Returns the product of the specified rational numbers.
+	 * 
+	 * @param values the rational numbers to multiply
+	 * @return the product, 1 if no numbers are specified
+	 * @see #product(BigRational...)
+	 */
+	public static BigRational product(Iterable<BigRational> values) {
+		return product(toList(values));
+	}
+
+	/**
+	 * Returns the dot product of the specified rational number arrays (the sum of <code>x[i] * y[i]</code>).
+	 * 
+	 * <p>The products are accumulated over the running least common multiple of their denominators
+	 * without creating intermediate {@link BigRational} instances,
+	 * in <code>long</code> values as long as they fit and otherwise in {@link BigInteger} values.
+	 * If the common denominator of many distinct denominators grows too large,
+	 * the partial sums are added in a balanced tree like {@link #sum(BigRational...)}.</p>
+	 * 
+	 * <p>The result is reduced once at the end according to the {@link #getDefaultNormalization() default normalization}.</p>
+	 * 
+	 * @param x the first array of rational numbers
+	 * @param y the second array of rational numbers
+	 * @return the dot product, 0 if the arrays are empty
+	 * @throws IllegalArgumentException if the arrays have different lengths
+	 */
+	public static BigRational dot(BigRational[] x, BigRational[] y) {
+		checkSameLength(x.length, y.length);
+		return defaultNormalization.normalize(dot(x, y, 0, x.length));
+	}
+
+	/**
+	 * Returns the dot product of the specified rational number arrays (the sum of <code>x[i] * y[i]</code>),
+	 * calculated in parallel in the common {@link ForkJoinPool}.
+	 * 
+	 * <p>Each task calculates the dot product of its part of the arrays like {@link #dot(BigRational[], BigRational[])},
+	 * the results of the tasks are added.</p>
+	 * 
+	 * @param x the first array of rational numbers
+	 * @param y the second array of rational numbers
+	 * @return the dot product, 0 if the arrays are empty
+	 * @throws IllegalArgumentException if the arrays have different lengths
+	 */
+	public static BigRational parallelDot(BigRational[] x, BigRational[] y) {
+		checkSameLength(x.length, y.length);
+		return defaultNormalization.normalize(ForkJoinPool.commonPool().invoke(new DotTask(x, y, 0, x.length)));
+	}
+
+	/**
+	 * Returns the linear combination of the specified rational number vectors
+	 * (the vector with the elements <code>sum(coefficients[i] * vectors[i][j])</code>).
+	 * 
+	 * <p>Every element is calculated like {@link #dot(BigRational[], BigRational[])}.</p>
+	 * 
+	 * @param coefficients the coefficients of the vectors
+	 * @param vectors the vectors, all of the same length
+	 * @return the resulting vector
+	 * @throws IllegalArgumentException if the number of coefficients and vectors differ or the vectors have different lengths
+	 */
+	public static BigRational[] linearCombination(BigRational[] coefficients, BigRational[]... vectors) {
+		checkSameLength(coefficients.length, vectors.length);
+		int length = vectors.length == 0 ? 0 : vectors[0].length;
+		for (BigRational[] vector : vectors) {
+			checkSameLength(length, vector.length);
+		}
+
+		BigRational[] result = new BigRational[length];
+		BigRational[] column = new BigRational[vectors.length];
+		for (int j = 0; j < length; j++) {
+			for (int i = 0; i < vectors.length; i++) {
+				column[i] = vectors[i][j];
+			}
+			result[j] = defaultNormalization.normalize(dot(coefficients, column, 0, column.length));
+		}
+		return result;
+	}
+
+	private static BigRational dot(BigRational[] x, BigRational[] y, int from, int to) {
+		CommonDenominatorSum sum = new CommonDenominatorSum();
+		for (int i = from; i < to; i++) {
+			sum.addProduct(x[i], y[i]);
+		}
+		return sum.toBigRational();
+	}
+
+	private static void checkSameLength(int length1, int length2) {
+		if (length1 != length2) {
+			throw new IllegalArgumentException("Different lengths: " + length1 + " != " + length2);
+		}
+	}
+
+	private static class DotTask extends RecursiveTask<BigRational> {
+		private static final long serialVersionUID = 1L;
+
+		private static final int THRESHOLD = 1024;
+
+		private final BigRational[] x;
+		private final BigRational[] y;
+		private final int from;
+		private final int to;
+
+		DotTask(BigRational[] x, BigRational[] y, int from, int to) {
+			this.x = x;
+			this.y = y;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected BigRational compute() {
+			if (to - from <= THRESHOLD) {
+				return dot(x, y, from, to);
+			}
+
+			int middle = (from + to) >>> 1;
+			DotTask right = new DotTask(x, y, middle, to);
+			right.fork();
+			BigRational left = new DotTask(x, y, from, middle).compute();
+			return left.add(right.join());
+		}
+	}
+
+	/**
+	 * Returns a {@link Collector} that calculates the sum of the {@link BigRational} input elements.
+	 * 
+	 * <p>Each partial result is accumulated in place with a {@link MutableBigRational},
+	 * so that a parallel stream only needs one addition per partial result to combine them.</p>
+	 * 
+	 * @return the {@link Collector}, producing 0 if there are no input elements
+	 */
+	public static Collector<BigRational, ?, BigRational> summing() {
+		return summingBy(value -> value);
+	}
+
+	/**
+	 * Returns a {@link Collector} that calculates the sum of a {@link BigRational} valued function applied to the input elements.
+	 * 
+	 * @param <T> the type of the input elements
+	 * @param mapper the function extracting the value to be summed
+	 * @return the {@link Collector}, producing 0 if there are no input elements
+	 * @see #summing()
+	 */
+	public static <T> Collector<T, ?, BigRational> summingBy(ToRationalFunction<? super T> mapper) {
+		return Collector.of(
+				MutableBigRational::new,
+				(sum, element) -> sum.addTo(mapper.applyAsRational(element)),
+				(sum1, sum2) -> sum1.addTo(sum2.toImmutable()),
+				MutableBigRational::toImmutable,
+				Collector.Characteristics.UNORDERED);
+	}
+
+	/**
+	 * Returns a {@link Collector} that calculates the arithmetic mean of the {@link BigRational} input elements.
+	 * 
+	 * @return the {@link Collector}, producing 0 if there are no input elements
+	 * @see #summing()
+	 */
+	public static Collector<BigRational, ?, BigRational> averaging() {
+		return Collector.of(
+				Average::new,
+				Average::add,
+				Average::combine,
+				Average::toAverage,
+				Collector.Characteristics.UNORDERED);
+	}
+
+	private static class Average {
+		private final MutableBigRational sum = new MutableBigRational();
+		private long count;
+
+		void add(BigRational value) {
+			sum.addTo(value);
+			count++;
+		}
+
+		Average combine(Average other) {
+			sum.addTo(other.sum.toImmutable());
+			count += other.count;
+			return this;
+		}
+
+		BigRational toAverage() {
+			if (count == 0) {
+				return ZERO;
+			}
+			return sum.toImmutable().divide(valueOf(BigInteger.valueOf(count)));
+		}
+	}
+
+	private static List<BigRational> toList(Iterable<BigRational> values) {
+		List<BigRational> list = new ArrayList<>();
+		for (BigRational value : values) {
+			list.add(value);
+		}
+		return list;
+	}
+
+	private static BigRational reduceBalanced(BigRational[] values, BigRational identity, BinaryOperator<BigRational> operator) {
+		if (values.length == 0) {
+			return identity;
+		}
+		return reduceBalanced(values, 0, values.length, operator);
+	}
+
+	private static BigRational reduceBalanced(BigRational[] values, int from, int to, BinaryOperator<BigRational> operator) {
+		if (to - from == 1) {
+			return values[from];
+		}
+		int middle = (from + to) >>> 1;
+		return operator.apply(reduceBalanced(values, from, middle, operator), reduceBalanced(values, middle, to, operator));
+	}
+
+	/**
+	 * Returns the {@link Normalization} that is applied to the results of
+	 * {@link #add(BigRational)}, {@link #subtract(BigRational)}, {@link #multiply(BigRational)} and {@link #divide(BigRational)}.
+	 * 
+	 * <p>The initial default normalization is {@link Normalization#NEVER}.</p>
+	 * 
+	 * @return the default normalization
+	 */
+	public static Normalization getDefaultNormalization() {
+		return defaultNormalization;
+	}
+
+	/**
+	 * Sets the {@link Normalization} that is applied to the results of
+	 * {@link #add(BigRational)}, {@link #subtract(BigRational)}, {@link #multiply(BigRational)} and {@link #divide(BigRational)}.
+	 * 
+	 * <p>The default normalization is global and affects all threads.</p>
+	 * 
+	 * @param normalization the default normalization
+	 */
+	public static void setDefaultNormalization(Normalization normalization) {
+		if (normalization == null) {
+			throw new NullPointerException("normalization");
+		}
+		defaultNormalization = normalization;
+	}
+
+	/**
+	 * Calculates the factorial (n * (n-1) * (n-2) * ... * 1) of the specified int value.
+	 * 
+	 * <p>The result has no loss of precision.</p>
+	 * 
+	 * <p>The factorials up to 1000! are cached when they are first needed,
+	 * the upper bound can be changed with the system property <code>ch.obermuhlner.math.rational.BigRational.factorialCacheHigh</code>.
+	 * Concurrent callers wait for one thread that extends the cache instead of repeating the calculation.
+	 * Larger factorials are calculated as the cached highest factorial multiplied by a balanced product tree of the remaining factors.</p>
+	 * 
+	 * @param n the int value to calculate the factorial of
+	 * @return the resulting rational number
+	 * @throws ArithmeticException for negative values
+	 */
+	public static BigRational factorial(int n) {
+		if (n < 0) {
+			throw new ArithmeticException("Illegal factorial(n) for n < 0");
+		}
+		if (n <= FACTORIAL_CACHE_HIGH) {
+			return factorialCached(n);
+		}
+
+		BigInteger result = factorialCached(FACTORIAL_CACHE_HIGH).getNumerator().multiply(productTree(FACTORIAL_CACHE_HIGH + 1, n));
+		return valueOf(result, BigInteger.ONE);
+	}
+
+	private static BigRational factorialCached(int n) {
+		BigRational[] cache = factorialCache;
+		if (n < cache.length) {
+			return cache[n];
+		}
+
+		synchronized (factorialCacheLock) {
+			cache = factorialCache;
+			if (n >= cache.length) {
+				BigRational[] grown = Arrays.copyOf(cache, Math.max(n + 1, Math.min(2 * cache.length, FACTORIAL_CACHE_HIGH + 1)));
+				for (int i = cache.length; i < grown.length; i++) {
+					grown[i] = grown[i - 1].multiply(valueOf(i)).reduce();
+				}
+				factorialCache = grown;
+				cache = grown;
+			}
+			return cache[n];
+		}
+	}
+
+	// the product of all integers from..to (inclusive) as balanced product tree, so that the multiplied numbers have similar sizes
+	private static BigInteger productTree(int from, int to) {
+		if (to - from < PRODUCT_TREE_THRESHOLD) {
+			BigInteger result = BigInteger.valueOf(from);
+			for (int i = from + 1; i <= to; i++) {
+				result = result.multiply(BigInteger.valueOf(i));
+			}
+			return result;
+		}
+
+		int middle = (from + to) >>> 1;
+		return productTree(from, middle).multiply(productTree(middle + 1, to));
+	}
+
+	/**
+	 * Calculates the Bernoulli number B(n) of the specified index.
+	 * 
+	 * <p><a href="https://en.wikipedia.org/wiki/Bernoulli_number">Wikipedia: Bernoulli number</a></p>
+	 * 
+	 * <p>The result has no loss of precision. B(1) is +1/2, all other odd Bernoulli numbers are 0.</p>
+	 * 
+	 * <p>The even Bernoulli numbers are calculated from the tangent numbers T(k)
+	 * (<code>B(2k) = (-1)^(k-1) * 2k * T(k) / (4^k * (4^k - 1))</code>),
+	 * which are calculated for all k up to n/2 in one pass with integer arithmetic only
+	 * (<a href="https://arxiv.org/abs/1108.0286">Brent, Harvey: Fast computation of Bernoulli, Tangent and Secant numbers</a>).
+	 * The results are cached, so later calls with the same or a smaller index only read the cache.
+	 * Concurrent callers wait for one thread that extends the cache instead of repeating the calculation.</p>
+	 * 
+	 * @param n the index of the Bernoulli number
+	 * @return the Bernoulli number B(n)
+	 * @throws ArithmeticException for negative values
+	 * @see #bernoulliNumbers(int)
+	 */
+	public static BigRational bernoulli(int n) {
+		if (n < 0) {
+			throw new ArithmeticException("Illegal bernoulli(n) for n < 0");
+		}
+		if (n == 1) {
+			return valueOf(1, 2);
+		}
+		if (n % 2 == 1) {
 			return ZERO;
 		}
-		return bernoulliCache[n / 2];
+		return bernoulliCached(n / 2)[n / 2];
+	}
+
+	/**
+	 * Calculates the Bernoulli numbers B(0) to B(n) in one pass.
+	 * 
+	 * <p>The results have no loss of precision.</p>
+	 * 
+	 * @param n the highest index of the Bernoulli numbers
+	 * @return the array with the Bernoulli number B(i) at index i
+	 * @throws ArithmeticException for negative values
+	 * @see #bernoulli(int)
+	 */
+	public static BigRational[] bernoulliNumbers(int n) {
+		if (n < 0) {
+			throw new ArithmeticException("Illegal bernoulliNumbers(n) for n < 0");
+		}
+		BigRational[] cache = bernoulliCached(n / 2);
+		BigRational[] result = new BigRational[n + 1];
+		for (int i = 0; i <= n; i++) {
+			result[i] = i % 2 == 0 ? cache[i / 2] : ZERO;
+		}
+		if (n >= 1) {
+			result[1] = valueOf(1, 2);
+		}
+		return result;
+	}
+
+	// the cache with at least the Bernoulli numbers B(0) to B(2k)
+	private static BigRational[] bernoulliCached(int k) {
+		BigRational[] cache = bernoulliCache;
+		if (k < cache.length) {
+			return cache;
+		}
+
+		synchronized (bernoulliCacheLock) {
+			cache = bernoulliCache;
+			if (k >= cache.length) {
+				// the tangent numbers are calculated from scratch, so the cache at least doubles to amortize the calculation
+				int length = Math.max(k + 1, 2 * cache.length);
+				BigInteger[] tangentNumbers = tangentNumbers(length - 1);
+				BigRational[] grown = Arrays.copyOf(cache, length);
+				for (int i = cache.length; i < length; i++) {
+					BigInteger power4 = BigInteger.ONE.shiftLeft(2 * i);
+					BigInteger numerator = tangentNumbers[i].multiply(BigInteger.valueOf(2L * i));
+					BigInteger denominator = power4.multiply(power4.subtract(BigInteger.ONE));
+					grown[i] = valueOf(i % 2 == 1 ? numerator : numerator.negate(), denominator).reduce();
+				}
+				bernoulliCache = grown;
+				cache = grown;
+			}
+			return cache;
+		}
+	}
+
+	// the tangent numbers T(1) to T(n) at the same index (index 0 is unused)
+	private static BigInteger[] tangentNumbers(int n) {
+		BigInteger[] result = new BigInteger[n + 1];
+		result[0] = BigInteger.ZERO;
+		if (n == 0) {
+			return result;
+		}
+
+		result[1] = BigInteger.ONE;
+		for (int k = 2; k <= n; k++) {
+			result[k] = result[k - 1].multiply(BigInteger.valueOf(k - 1));
+		}
+		for (int k = 2; k <= n; k++) {
+			for (int j = k; j <= n; j++) {
+				result[j] = result[j - 1].multiply(BigInteger.valueOf(j - k)).add(result[j].multiply(BigInteger.valueOf(j - k + 2)));
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -1213,28 +2219,53 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has loss of precision, the desired precision must be specified by the <code>scale</code> argument.</p>
 	 * 
-	 * <p>The implementation uses <a href="http://en.wikipedia.org/wiki/Newton%27s_method">Newtown's method</a>
-	 * until the delta step is smaller than the specified scale (10<sup>-scale</sup>).</p>
+	 * <p>The implementation calculates the integer square root <code>floor(sqrt(n * 2^(2b) / d))</code>
+	 * for a binary scale b that covers the specified scale.
+	 * The integer square root uses <a href="http://en.wikipedia.org/wiki/Newton%27s_method">Newtown's method</a>
+	 * with a <code>double</code> estimate as seed,
+	 * where every iteration doubles the precision and calculates only with the bits that are already correct.</p>
 	 *
 	 * @param x the rational number to calculate the square root for
 	 * @param scale the scale (number of digits after the decimal point) of the calculated result
 	 * @return the calculated square root of x
+	 * @throws ArithmeticException for negative numbers
 	 */
 	public static BigRational sqrt(BigRational x, int scale) {
+		if (x.signum() < 0) {
+			throw new ArithmeticException("Illegal sqrt(x) for x < 0");
+		}
 		if (x.isZero()) {
 			return ZERO;
 		}
-		
-		final BigRational accuracy = convertScaleToAccuracy(scale);
 
-		BigRational last = ZERO;
-		BigRational result = x.divide(TWO);
+		int bits = scaleToBits(scale) + GUARD_BITS;
+		BigInteger root = sqrtInteger(x.getNumerator().shiftLeft(2 * bits).divide(x.getDenominator()));
+		return fromFixedPoint(root, bits).withScale(scale);
+	}
+
+	// floor(sqrt(value)) for a value >= 0
+	private static BigInteger sqrtInteger(BigInteger value) {
+		BigInteger result;
+		if (value.bitLength() <= 2 * DOUBLE_MANTISSA_BITS) {
+			// the root has at most 53 bits, so the double estimate is off by at most a few units
+			result = BigInteger.valueOf((long) Math.sqrt(value.doubleValue()));
+		}
+		else {
+			// sqrt(value) ~ sqrt(value / 2^(2*shift)) * 2^shift, the root of the upper half of the bits has half of the correct bits
+			int shift = value.bitLength() / 4;
+			result = sqrtInteger(value.shiftRight(2 * shift)).shiftLeft(shift);
+			result = result.add(value.divide(result)).shiftRight(1);
+		}
 
-		do {
-			last = result;
-			result = x.divide(result).add(last).divide(TWO);
-		} while (last.subtract(result).abs().compareTo(accuracy) >= 0);
-		return result.withScale(scale);
+		while (result.multiply(result).compareTo(value) > 0) {
+			result = result.subtract(BigInteger.ONE);
+		}
+		BigInteger next = result.add(BigInteger.ONE);
+		while (next.multiply(next).compareTo(value) <= 0) {
+			result = next;
+			next = result.add(BigInteger.ONE);
+		}
+		return result;
 	}
 
 	/**
@@ -1244,13 +2275,19 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has loss of precision, the desired precision must be specified by the <code>scale</code> argument.</p>
 	 * 
-	 * <p>The implementation uses <a href="http://en.wikipedia.org/wiki/Taylor_series">Taylor series</a>
-	 * until the delta step is smaller than the specified scale (10<sup>-scale</sup>).</p>
+	 * <p>The implementation reduces the argument to x = m * 2<sup>k</sup> with 1/sqrt(2) &lt;= m &lt; sqrt(2),
+	 * so that log(x) = log(m) + k * log(2) with a cached value of log(2).</p>
+	 * 
+	 * <p>log(m) is calculated with the <a href="http://en.wikipedia.org/wiki/Logarithm#Calculation">area hyperbolic tangent series</a></br>
+	 * <code>2 * sum(z^(2n+1)/(2n+1))</code> with <code>z = (m-1)/(m+1)</code>, |z| &lt; 0.172</p>
+	 * 
+	 * <p>Up to a scale of about 1200 every odd power of z is calculated from the previous one by multiplying with z<sup>2</sup>
+	 * and all intermediate results are rounded to the working precision.</p>
 	 * 
-	 * <p>For x < 1 the following series is used:</br>
-	 * <code>sum(-1^(n+1)(x-1)^n/n)</code></p>
-	 * <p>For x >= 1 the following series is used:</br>
-	 * <code>sum(((x-1)/n)^n/n)</code></p>
+	 * <p>For higher scales the bit-burst algorithm splits m into factors r<sub>0</sub> * r<sub>1</sub>/r<sub>0</sub> * r<sub>2</sub>/r<sub>1</sub> * ...
+	 * where r<sub>j</sub> is m truncated to 8 * 2<sup>j</sup> bits.
+	 * The series of every factor has a rational argument with small numerator and denominator
+	 * and is summed with binary splitting (see {@link HypergeometricSeries}).</p>
 	 *
 	 * @param x the rational number to calculate the natural logarithm for
 	 * @param scale the scale (number of digits after the decimal point) of the calculated result
@@ -1265,28 +2302,99 @@ public class BigRational implements Comparable<BigRational> {
 		if (x.isOne()) {
 			return ZERO;
 		}
-		return logAreaHyperbolicTangent(x, scale);
+		if (x.equals(TWO)) {
+			return LN2.get(scale);
+		}
+		if (x.equals(TEN)) {
+			return LN10.get(scale);
+		}
+
+		int bits = scaleToBits(scale) + GUARD_BITS;
+
+		BigInteger numerator = x.getNumerator();
+		BigInteger denominator = x.getDenominator();
+		int k = numerator.bitLength() - denominator.bitLength();
+		BigInteger m = divideFixedPoint(numerator, denominator, k, bits);
+		if (m.multiply(m).compareTo(BigInteger.ONE.shiftLeft(2 * bits + 1)) >= 0) {
+			k++;
+			m = divideFixedPoint(numerator, denominator, k, bits);
+		}
+		else if (m.multiply(m).compareTo(BigInteger.ONE.shiftLeft(2 * bits - 1)) < 0) {
+			k--;
+			m = divideFixedPoint(numerator, denominator, k, bits);
+		}
+
+		BigInteger result = logFixedPoint(m, bits);
+		if (k != 0) {
+			// the error of log(2) is multiplied by k
+			int ln2Bits = bits + 32 - Integer.numberOfLeadingZeros(Math.abs(k));
+			BigInteger ln2 = toFixedPoint(LN2.get(bitsToScale(ln2Bits)), ln2Bits);
+			result = result.add(ln2.multiply(BigInteger.valueOf(k)).shiftRight(ln2Bits - bits));
+		}
+		return fromFixedPoint(result, bits).withScale(scale);
 	}
 
-	private static BigRational logAreaHyperbolicTangent(BigRational x, int scale) {
-		// http://en.wikipedia.org/wiki/Logarithm#Calculation
-		final BigRational accuracy = convertScaleToAccuracy(scale);
-		
-		BigRational magic = x.subtract(ONE).divide(x.add(ONE));
-		
-		BigRational result = ZERO;
-		BigRational step;
-		int i = 0;
-		do {
-			BigRational doubleIndexPlusOne = valueOf(i).multiply(2).add(ONE); 
-			step = magic.pow(doubleIndexPlusOne, scale).divide(doubleIndexPlusOne);
-			result = result.add(step);
-			i++;
-		} while (step.abs().compareTo(accuracy) >= 0);
-		
-		result = result.multiply(2);
-		
-		return result.withScale(scale);
+	// numerator / (denominator * 2^k) as fixed point value with the specified bits
+	private static BigInteger divideFixedPoint(BigInteger numerator, BigInteger denominator, int k, int bits) {
+		if (k >= 0) {
+			return numerator.shiftLeft(bits).divide(denominator.shiftLeft(k));
+		}
+		return numerator.shiftLeft(bits - k).divide(denominator);
+	}
+
+	// log(m) for a fixed point argument m / 2^bits with 1/sqrt(2) <= m < sqrt(2)
+	private static BigInteger logFixedPoint(BigInteger m, int bits) {
+		BigInteger one = BigInteger.ONE.shiftLeft(bits);
+		if (bits < BIT_BURST_THRESHOLD) {
+			return atanhFixedPoint(m.subtract(one).shiftLeft(bits).divide(m.add(one)), bits).shiftLeft(1);
+		}
+
+		// bit-burst: m = r(0) * r(1)/r(0) * r(2)/r(1) * ... with r(j) = m truncated to t(j) = BIT_BURST_FIRST_BITS * 2^j bits,
+		// log(r(j+1)/r(j)) = 2 * atanh(z) with z = (r(j+1) - r(j)) / (r(j+1) + r(j)) < 2^-t(j) of t(j+1) bits
+		BigInteger result = BigInteger.ZERO;
+		BigInteger previous = BigInteger.ONE;
+		int previousBits = 0;
+		for (int t = Math.min(BIT_BURST_FIRST_BITS, bits); ; t = Math.min(2 * t, bits)) {
+			BigInteger current = m.shiftRight(bits - t);
+			BigInteger scaledPrevious = previous.shiftLeft(t - previousBits);
+			BigInteger u = current.subtract(scaledPrevious);
+			if (u.signum() != 0) {
+				result = result.add(atanhSeries(u, current.add(scaledPrevious), bits));
+			}
+			if (t == bits) {
+				return result;
+			}
+			previous = current;
+			previousBits = t;
+		}
+	}
+
+	// 2 * atanh(u/v) = sum(2u / ((2k+1) v) * (u^2/v^2)^k) with binary splitting as fixed point value with the specified bits
+	private static BigInteger atanhSeries(BigInteger u, BigInteger v, int bits) {
+		HypergeometricSeries series = HypergeometricSeries.valueOf(
+				new BigInteger[] { u.shiftLeft(1) },
+				new BigInteger[] { v, v.shiftLeft(1) },
+				new BigInteger[] { u.multiply(u) },
+				new BigInteger[] { v.multiply(v) });
+		BigInteger[] pqbt = series.split(series.terms(bitsToScale(bits)));
+		return pqbt[3].shiftLeft(bits).divide(pqbt[2].multiply(pqbt[1]));
+	}
+
+	// atanh(x) = sum(x^(2n+1)/(2n+1)) for a small fixed point argument x / 2^bits
+	private static BigInteger atanhFixedPoint(BigInteger x, int bits) {
+		if (x.signum() < 0) {
+			// shiftRight() rounds towards negative infinity, so the powers of a negative argument would never reach 0
+			return atanhFixedPoint(x.negate(), bits).negate();
+		}
+
+		BigInteger square = x.multiply(x).shiftRight(bits);
+		BigInteger result = x;
+		BigInteger power = x;
+		for (int i = 3; power.signum() != 0; i += 2) {
+			power = power.multiply(square).shiftRight(bits);
+			result = result.add(power.divide(BigInteger.valueOf(i)));
+		}
+		return result;
 	}
 
 	/**
@@ -1296,26 +2404,55 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has loss of precision, the desired precision must be specified by the <code>scale</code> argument.</p>
 	 * 
-	 * <p>The implementation uses <a href="http://en.wikipedia.org/wiki/Taylor_series">Taylor series</a>
-	 * until the delta step is smaller than the specified scale (10<sup>-scale</sup>).</p>
+	 * <p>The implementation reduces the argument to x/2<sup>k</sup>,
+	 * calculates the <a href="http://en.wikipedia.org/wiki/Taylor_series">Taylor series</a> of the reduced argument
+	 * and squares the result k times.
+	 * Every term of the series is calculated from the previous term
+	 * and all intermediate results are rounded to the working precision.</p>
 	 *
 	 * @param x the rational number to calculate the exponent for
 	 * @param scale the scale (number of digits after the decimal point) of the calculated result
 	 * @return the calculated exponent as rational number
 	 */
 	public static BigRational exp(BigRational x, int scale) {
-		final BigRational accuracy = convertScaleToAccuracy(scale);
+		if (x.isZero()) {
+			return ONE;
+		}
+		if (x.isOne()) {
+			return e(scale);
+		}
 
-		BigRational result = ZERO;
-		BigRational step;
-		int i = 0;
-		do {
-			step = x.pow(i).divide(factorial(i));
-			result = result.add(step);
-			i++;
-		} while (step.abs().compareTo(accuracy) >= 0);
+		// the integer digits of the result need additional precision, since the squaring preserves only the relative precision
+		// the numerator and denominator are shifted into the range of double, which keeps their ratio precise enough
+		int shift = Math.max(0, Math.min(x.getNumerator().bitLength(), x.getDenominator().bitLength()) - Long.SIZE);
+		double magnitude = x.getNumerator().shiftRight(shift).doubleValue() / x.getDenominator().shiftRight(shift).doubleValue();
+		double resultBits = x.signum() > 0 ? Math.ceil(magnitude / Math.log(2)) : 0;
+		if (resultBits > Integer.MAX_VALUE / 4) {
+			throw new ArithmeticException("Overflow exp(x) for x = " + x);
+		}
+		int bits = scaleToBits(scale) + (int) resultBits + GUARD_BITS;
+
+		// the argument is reduced to |x/2^k| < 2^-sqrt(bits), which balances the number of terms against the number of squarings
+		int k = Math.max(0, x.getNumerator().bitLength() - x.getDenominator().bitLength() + 1) + (int) Math.sqrt(bits);
+		bits += k;
+
+		BigInteger reduced = toFixedPoint(x, bits).shiftRight(k);
+		BigInteger result = expFixedPoint(reduced, bits);
+		for (int i = 0; i < k; i++) {
+			result = result.multiply(result).shiftRight(bits);
+		}
+		return fromFixedPoint(result, bits).withScale(scale);
+	}
 
-		return result.withScale(scale);
+	// exp(x) with the Taylor series for a small fixed point argument x / 2^bits
+	private static BigInteger expFixedPoint(BigInteger x, int bits) {
+		BigInteger result = BigInteger.ONE.shiftLeft(bits);
+		BigInteger term = result;
+		for (int i = 1; term.signum() != 0; i++) {
+			term = term.multiply(x).shiftRight(bits).divide(BigInteger.valueOf(i));
+			result = result.add(term);
+		}
+		return result;
 	}
 
 	/**
@@ -1325,28 +2462,14 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has loss of precision, the desired precision must be specified by the <code>scale</code> argument.</p>
 	 * 
-	 * <p>The implementation uses <a href="http://en.wikipedia.org/wiki/Taylor_series">Taylor series</a>
-	 * until the delta step is smaller than the specified scale (10<sup>-scale</sup>).</p>
+	 * <p>The implementation is described in {@link #sincos(BigRational, int)}.</p>
 	 *
 	 * @param x the rational number to calculate the sine for
 	 * @param scale the scale (number of digits after the decimal point) of the calculated result
 	 * @return the calculated sine as rational number
 	 */
 	public static BigRational sin(BigRational x, int scale) {
-		final BigRational accuracy = valueOf(10).pow(-scale - 1);
-
-		BigRational result = ZERO;
-		BigRational sign = ONE;
-		BigRational step;
-		int i = 0;
-		do {
-			step = sign.multiply(x.pow(2 * i + 1)).divide(factorial(2 * i + 1));
-			sign = sign.negate();
-			result = result.add(step);
-			i++;
-		} while (step.abs().compareTo(accuracy) >= 0);
-
-		return result.withScale(scale);
+		return sincos(x, scale)[0];
 	}
 
 	/**
@@ -1356,28 +2479,99 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has loss of precision, the desired precision must be specified by the <code>scale</code> argument.</p>
 	 * 
-	 * <p>The implementation uses <a href="http://en.wikipedia.org/wiki/Taylor_series">Taylor series</a>
-	 * until the delta step is smaller than the specified scale (10<sup>-scale</sup>).</p>
+	 * <p>The implementation is described in {@link #sincos(BigRational, int)}.</p>
 	 *
 	 * @param x the rational number to calculate the cosine for
 	 * @param scale the scale (number of digits after the decimal point) of the calculated result
 	 * @return the calculated cosine as rational number
 	 */
 	public static BigRational cos(BigRational x, int scale) {
-		final BigRational accuracy = valueOf(10).pow(-scale - 1);
-
-		BigRational result = ZERO;
-		BigRational sign = ONE;
-		BigRational step;
-		int i = 0;
-		do {
-			step = sign.multiply(x.pow(2 * i)).divide(factorial(2 * i));
-			sign = sign.negate();
-			result = result.add(step);
-			i++;
-		} while (step.abs().compareTo(accuracy) >= 0);
+		return sincos(x, scale)[1];
+	}
 
-		return result.withScale(scale);
+	/**
+	 * Calculates the sine (sinus) and the cosine (cosinus) of a rational number in one pass.
+	 * 
+	 * <p>The results have loss of precision, the desired precision must be specified by the <code>scale</code> argument.</p>
+	 * 
+	 * <p>The implementation reduces the argument modulo pi/2 (with a cached value of pi) to |r| &lt;= pi/4,
+	 * halves the reduced argument k times
+	 * and calculates both <a href="http://en.wikipedia.org/wiki/Taylor_series">Taylor series</a> together,
+	 * deriving every term from the previous term.
+	 * The double angle formulas are then applied k times.
+	 * All intermediate results are rounded to the working precision.</p>
+	 *
+	 * @param x the rational number to calculate the sine and cosine for
+	 * @param scale the scale (number of digits after the decimal point) of the calculated results
+	 * @return an array with the calculated sine at index 0 and the calculated cosine at index 1
+	 * @see #sin(BigRational, int)
+	 * @see #cos(BigRational, int)
+	 */
+	public static BigRational[] sincos(BigRational x, int scale) {
+		int bits = scaleToBits(scale) + GUARD_BITS;
+
+		// every double angle step multiplies the error by at most 4
+		int k = (int) Math.sqrt(bits) / 2;
+		bits += 2 * k;
+
+		// the multiple of pi/2 that is subtracted needs additional precision for every integer bit of x
+		int integerBits = Math.max(0, x.getNumerator().bitLength() - x.getDenominator().bitLength() + 1);
+		int reductionBits = bits + integerBits;
+		BigInteger halfPi = toFixedPoint(pi(bitsToScale(reductionBits)), reductionBits - 1);
+		BigInteger[] quadrant = toFixedPoint(x, reductionBits).add(halfPi.shiftRight(1)).divideAndRemainder(halfPi);
+		if (quadrant[1].signum() < 0) {
+			quadrant[0] = quadrant[0].subtract(BigInteger.ONE);
+			quadrant[1] = quadrant[1].add(halfPi);
+		}
+		BigInteger reduced = quadrant[1].subtract(halfPi.shiftRight(1)).shiftRight(integerBits + k);
+
+		BigInteger[] result = sincosFixedPoint(reduced, bits);
+		for (int i = 0; i < k; i++) {
+			// sin(2a) = 2 sin(a) cos(a), cos(2a) = 2 cos(a)^2 - 1
+			BigInteger sin = result[0].multiply(result[1]).shiftRight(bits - 1);
+			BigInteger cos = result[1].multiply(result[1]).shiftRight(bits - 1).subtract(BigInteger.ONE.shiftLeft(bits));
+			result[0] = sin;
+			result[1] = cos;
+		}
+
+		BigRational sin = fromFixedPoint(result[0], bits).withScale(scale);
+		BigRational cos = fromFixedPoint(result[1], bits).withScale(scale);
+		switch (quadrant[0].intValue() & 3) {
+		case 0:
+			return new BigRational[] { sin, cos };
+		case 1:
+			return new BigRational[] { cos, sin.negate() };
+		case 2:
+			return new BigRational[] { sin.negate(), cos.negate() };
+		default:
+			return new BigRational[] { cos.negate(), sin };
+		}
+	}
+
+	// sin(x) and cos(x) with the Taylor series for a small fixed point argument x / 2^bits
+	private static BigInteger[] sincosFixedPoint(BigInteger x, int bits) {
+		// the terms x^n/n! alternate between the cosine (even n) and the sine (odd n) series
+		BigInteger sin = BigInteger.ZERO;
+		BigInteger cos = BigInteger.ONE.shiftLeft(bits);
+		BigInteger term = cos;
+		for (int n = 1; term.signum() != 0; n++) {
+			term = term.multiply(x).shiftRight(bits).divide(BigInteger.valueOf(n));
+			switch (n & 3) {
+			case 0:
+				cos = cos.add(term);
+				break;
+			case 1:
+				sin = sin.add(term);
+				break;
+			case 2:
+				cos = cos.subtract(term);
+				break;
+			default:
+				sin = sin.subtract(term);
+				break;
+			}
+		}
+		return new BigInteger[] { sin, cos };
 	}
 
 	/**
@@ -1387,50 +2581,180 @@ public class BigRational implements Comparable<BigRational> {
 	 * 
 	 * <p>The result has loss of precision, the desired precision must be specified by the <code>scale</code> argument.</p>
 	 * 
-	 * <p>The implementation uses the <a href="http://www.craig-wood.com/nick/articles/pi-chudnovsky/">Chudnovsky series</a></p>
+	 * <p>The implementation uses the <a href="http://www.craig-wood.com/nick/articles/pi-chudnovsky/">Chudnovsky series</a>
+	 * with <a href="https://en.wikipedia.org/wiki/Binary_splitting">binary splitting</a>.
+	 * Large numbers of terms are split into independent tasks that are calculated in parallel
+	 * in the {@link ForkJoinPool#commonPool() common fork/join pool}.</p>
+	 * 
+	 * <p>The value with the highest scale calculated so far is cached,
+	 * requests with the same or a lower scale are served by rounding the cached value.</p>
 	 *
 	 * @param scale the scale (number of digits after the decimal point) of the calculated result
 	 * @return the calculated value of pi as rational number
 	 */
 	public static BigRational pi(int scale) {
-		BigDecimal value24 = BigDecimal.valueOf(24);
-		BigRational value640320 = BigRational.valueOf(640320);
-		BigDecimal value13591409 = BigDecimal.valueOf(13591409);
-		BigDecimal value545140134 = BigDecimal.valueOf(545140134);
-		BigRational valueDivisor = value640320.pow(3).divide(value24);
-
-		BigRational sumA = BigRational.ONE;
-		BigRational sumB = BigRational.ZERO;
-
-		BigRational a = BigRational.ONE;
-		long dividendTerm1 = 5; // -(6*k - 5)
-		long dividendTerm2 = -1; // 2*k - 1
-		long dividendTerm3 = -1; // 6*k - 1
-
-		long iterationCount = (scale+13) / 14;
-		for (long k = 1; k <= iterationCount; k++) {
-			BigDecimal valueK = BigDecimal.valueOf(k);
-			dividendTerm1 += -6;
-			dividendTerm2 += 2;
-			dividendTerm3 += 6;
-			BigDecimal dividend = BigDecimal.valueOf(dividendTerm1).multiply(BigDecimal.valueOf(dividendTerm2)).multiply(BigDecimal.valueOf(dividendTerm3));
-			BigRational divisor = valueDivisor.multiply(valueK.pow(3));
-			a = a.multiply(dividend).divide(divisor).reduce();
-			BigRational b = a.multiply(valueK);
-			
-			sumA = sumA.add(a);
-			sumB = sumB.add(b);
+		return PI.get(scale);
+	}
+
+	/**
+	 * Calculates the value of e (the base of the natural logarithm).
+	 * 
+	 * <p><a href="http://en.wikipedia.org/wiki/E_(mathematical_constant)">Wikipedia: e</a></p>
+	 * 
+	 * <p>The result has loss of precision, the desired precision must be specified by the <code>scale</code> argument.</p>
+	 * 
+	 * <p>The value with the highest scale calculated so far is cached,
+	 * requests with the same or a lower scale are served by rounding the cached value.</p>
+	 *
+	 * @param scale the scale (number of digits after the decimal point) of the calculated result
+	 * @return the calculated value of e as rational number
+	 * @see #exp(BigRational, int)
+	 */
+	public static BigRational e(int scale) {
+		return E.get(scale);
+	}
+
+	private static BigDecimal calculatePi(int scale) {
+		int bits = scaleToBits(scale) + GUARD_BITS;
+		int terms = CHUDNOVSKY_SERIES.terms(scale);
+
+		// pi = 426880 * sqrt(10005) * Q / T, the square root is calculated while the series is split
+		BigInteger sqrt10005;
+		BigInteger[] pqbt;
+		if (ForkJoinTask.inForkJoinPool()) {
+			// a worker thread does not wait for a task submitted to the pool, it forks the subtasks of the split itself
+			pqbt = CHUDNOVSKY_SERIES.split(terms);
+			sqrt10005 = sqrtInteger(BigInteger.valueOf(10005).shiftLeft(2 * bits));
+		} else {
+			ForkJoinTask<BigInteger[]> series = ForkJoinPool.commonPool().submit(() -> CHUDNOVSKY_SERIES.split(terms));
+			sqrt10005 = sqrtInteger(BigInteger.valueOf(10005).shiftLeft(2 * bits));
+			pqbt = series.join();
 		}
-		
-		BigDecimal value426880 = BigDecimal.valueOf(426880);
-		BigRational value10005 = BigRational.valueOf(10005);
-		BigRational factor = sqrt(value10005, scale+10).multiply(value426880);
-		BigRational pi = factor.divide(sumA.multiply(value13591409).add(sumB.multiply(value545140134)));
-		return pi.withScale(scale);
+		BigInteger pi = sqrt10005.multiply(BigInteger.valueOf(426880)).multiply(pqbt[1]).divide(pqbt[3]);
+		return fixedPointToBigDecimal(pi, bits, scale);
+	}
+
+	private static BigDecimal calculateE(int scale) {
+		return E_SERIES.sum(scale, RoundingMode.DOWN);
+	}
+
+	private static BigDecimal calculateLn2(int scale) {
+		return LN2_SERIES.sum(scale, RoundingMode.DOWN);
 	}
 
-	private static BigRational convertScaleToAccuracy(int scale) {
-		return TEN.pow(-scale - 2);
+	private static BigDecimal calculateLn10(int scale) {
+		// log(10) = 3 * log(2) + log(5/4), both with 2 more digits
+		BigDecimal ln2 = LN2.get(scale + 2).toBigDecimal().multiply(BigDecimal.valueOf(3));
+		return ln2.add(LN5_4_SERIES.sum(scale + 2, RoundingMode.DOWN)).setScale(scale, RoundingMode.DOWN);
+	}
+
+	/**
+	 * A mathematical constant that caches its value with the highest scale calculated so far.
+	 * 
+	 * <p>Only requests with a higher scale calculate the value again.
+	 * The calculation runs without holding a lock, so that threads of the common fork/join pool are never blocked
+	 * while the calculation waits for its tasks in the same pool.
+	 * Concurrent requests with a higher scale may calculate the value more than once,
+	 * the value with the highest scale is published with a compare-and-set.
+	 * Requests with the same or a lower scale are served without locking by rounding a copy of the value
+	 * that is cached for the next power of two scale (at least 32),
+	 * so that the cost of low scale requests does not depend on the highest scale calculated so far.</p>
+	 * 
+	 * <p>The values are stored with additional guard digits (rounded down),
+	 * so that rounding them to a lower scale gives the same result as rounding the exact value.
+	 * They are only softly referenced, so that the memory of high precision values can be reclaimed if memory runs low.</p>
+	 */
+	private static class Constant {
+		// additional digits of the cached value, so that rounding to a lower scale is exact
+		private static final int GUARD_DIGITS = 10;
+
+		// the scale of the lowest level is 2^MIN_LEVEL
+		private static final int MIN_LEVEL = 5;
+
+		// the scale of the highest level is 2^MAX_LEVEL
+		private static final int MAX_LEVEL = 30;
+
+		private final IntFunction<BigDecimal> calculator;
+
+		private final AtomicReference<SoftReference<CachedValue>> cache = new AtomicReference<>(new SoftReference<>(null));
+
+		// the value rounded down to the scale 2^level + GUARD_DIGITS at index level
+		private final AtomicReferenceArray<SoftReference<BigDecimal>> levels = new AtomicReferenceArray<>(MAX_LEVEL + 1);
+
+		Constant(IntFunction<BigDecimal> calculator) {
+			this.calculator = calculator;
+		}
+
+		BigRational get(int scale) {
+			int level = scale <= 1 << MIN_LEVEL ? MIN_LEVEL : Integer.SIZE - Integer.numberOfLeadingZeros(scale - 1);
+			if (level > MAX_LEVEL) {
+				return valueOf(getCached(scale).value.setScale(scale, RoundingMode.HALF_UP));
+			}
+
+			SoftReference<BigDecimal> reference = levels.get(level);
+			BigDecimal value = reference != null ? reference.get() : null;
+			if (value == null) {
+				// rounding down the rounded down value gives the same result as rounding down the exact value
+				int levelScale = 1 << level;
+				value = getCached(levelScale).value.setScale(levelScale + GUARD_DIGITS, RoundingMode.DOWN);
+				levels.set(level, new SoftReference<>(value));
+			}
+			return valueOf(value.setScale(scale, RoundingMode.HALF_UP));
+		}
+
+		private CachedValue getCached(int scale) {
+			SoftReference<CachedValue> reference = cache.get();
+			CachedValue cached = reference.get();
+			if (cached != null && cached.scale >= scale) {
+				return cached;
+			}
+
+			CachedValue calculated = new CachedValue(scale, calculator.apply(scale + GUARD_DIGITS));
+			SoftReference<CachedValue> calculatedReference = new SoftReference<>(calculated);
+			while (!cache.compareAndSet(reference, calculatedReference)) {
+				// keep a value with a higher scale that was published concurrently
+				reference = cache.get();
+				cached = reference.get();
+				if (cached != null && cached.scale >= scale) {
+					return cached;
+				}
+			}
+			return calculated;
+		}
+	}
+
+	private static class CachedValue {
+		final int scale;
+		final BigDecimal value;
+
+		CachedValue(int scale, BigDecimal value) {
+			this.scale = scale;
+			this.value = value;
+		}
+	}
+
+	// number of bits needed for the fraction digits of the specified scale
+	private static int scaleToBits(int scale) {
+		return (int) Math.ceil(Math.max(0, scale) * LOG2_10);
+	}
+
+	// scale that is precise enough for the specified number of fraction bits
+	private static int bitsToScale(int bits) {
+		return (int) Math.ceil(bits / LOG2_10) + 1;
+	}
+
+	// value / 2^bits rounded down to the specified scale
+	private static BigDecimal fixedPointToBigDecimal(BigInteger value, int bits, int scale) {
+		return new BigDecimal(value.multiply(BigInteger.TEN.pow(scale)).shiftRight(bits), scale);
+	}
+
+	// x * 2^bits rounded towards zero
+	private static BigInteger toFixedPoint(BigRational x, int bits) {
+		return x.getNumerator().shiftLeft(bits).divide(x.getDenominator());
+	}
+
+	private static BigRational fromFixedPoint(BigInteger value, int bits) {
+		return valueOf(value, BigInteger.ONE.shiftLeft(bits));
 	}
 
 	/**
@@ -1439,13 +2763,29 @@ public class BigRational implements Comparable<BigRational> {
 	public static class Context {
 		private int scale;
 
+		private Normalization normalization;
+
 		/**
 		 * Creates context with the specified scale.
 		 * 
+		 * <p>The basic arithmetic operations of this context use the {@link BigRational#getDefaultNormalization() default normalization}.</p>
+		 * 
 		 * @param scale the scale to be used for the calculations with this context
 		 */
 		public Context(int scale) {
+			this(scale, null);
+		}
+
+		/**
+		 * Creates context with the specified scale and normalization.
+		 * 
+		 * @param scale the scale to be used for the calculations with this context
+		 * @param normalization the {@link Normalization} to be used for the basic arithmetic operations of this context,
+		 * or <code>null</code> to use the {@link BigRational#getDefaultNormalization() default normalization}
+		 */
+		public Context(int scale, Normalization normalization) {
 			this.scale = scale;
+			this.normalization = normalization;
 		}
 
 		/**
@@ -1457,6 +2797,64 @@ public class BigRational implements Comparable<BigRational> {
 			return scale;
 		}
 
+		/**
+		 * Returns the normalization used by the basic arithmetic operations of this context.
+		 * 
+		 * @return the normalization
+		 */
+		public Normalization getNormalization() {
+			return normalization != null ? normalization : defaultNormalization;
+		}
+
+		/**
+		 * Calculates the addition (+) of two rational numbers with the normalization of this context.
+		 * 
+		 * @param x the first rational number
+		 * @param y the rational number to add
+		 * @return the resulting rational number
+		 * @see BigRational#add(BigRational)
+		 */
+		public BigRational add(BigRational x, BigRational y) {
+			return getNormalization().normalize(x.addInternal(y));
+		}
+
+		/**
+		 * Calculates the subtraction (-) of two rational numbers with the normalization of this context.
+		 * 
+		 * @param x the first rational number
+		 * @param y the rational number to subtract
+		 * @return the resulting rational number
+		 * @see BigRational#subtract(BigRational)
+		 */
+		public BigRational subtract(BigRational x, BigRational y) {
+			return getNormalization().normalize(x.subtractInternal(y));
+		}
+
+		/**
+		 * Calculates the multiplication (*) of two rational numbers with the normalization of this context.
+		 * 
+		 * @param x the first rational number
+		 * @param y the rational number to multiply
+		 * @return the resulting rational number
+		 * @see BigRational#multiply(BigRational)
+		 */
+		public BigRational multiply(BigRational x, BigRational y) {
+			return getNormalization().normalize(x.multiplyInternal(y));
+		}
+
+		/**
+		 * Calculates the division (/) of two rational numbers with the normalization of this context.
+		 * 
+		 * @param x the first rational number
+		 * @param y the rational number to divide (0 is not allowed)
+		 * @return the resulting rational number
+		 * @throws ArithmeticException if the argument is 0 (division by zero)
+		 * @see BigRational#divide(BigRational)
+		 */
+		public BigRational divide(BigRational x, BigRational y) {
+			return getNormalization().normalize(x.divideInternal(y));
+		}
+
 		/**
 		 * Calculates pi with the scale of this context.
 		 * 
@@ -1467,6 +2865,16 @@ public class BigRational implements Comparable<BigRational> {
 			return BigRational.pi(scale);
 		}
 
+		/**
+		 * Calculates e (the base of the natural logarithm) with the scale of this context.
+		 * 
+		 * @return the value of e
+		 * @see BigRational#e(int)
+		 */
+		public BigRational e() {
+			return BigRational.e(scale);
+		}
+
 		/**
 		 * Calculates the square root of a rational number with the scale of this context.
 		 * 
@@ -1532,5 +2940,113 @@ public class BigRational implements Comparable<BigRational> {
 		public BigRational cos(BigRational x) {
 			return BigRational.cos(x, scale);
 		}
+
+		/**
+		 * Calculates the sinus and the cosinus of a rational number in one pass with the scale of this context.
+		 * 
+		 * @param x the rational number to calculate the sinus and cosinus for
+		 * @return an array with the calculated sinus of x at index 0 and the calculated cosinus of x at index 1
+		 * @see BigRational#sincos(BigRational, int)
+		 */
+		public BigRational[] sincos(BigRational x) {
+			return BigRational.sincos(x, scale);
+		}
+	}
+
+	/**
+	 * A policy that decides when the results of the basic arithmetic operations are automatically {@link BigRational#reduce() reduced}.
+	 * 
+	 * <p>Reducing costs a gcd calculation, but keeps the numerator and denominator small in iterative calculations.</p>
+	 * 
+	 * <p>The policy counts how often it has reduced a result (see {@link #getReductionCount()}).</p>
+	 * 
+	 * @see BigRational#setDefaultNormalization(Normalization)
+	 * @see Context#Context(int, Normalization)
+	 */
+	public static class Normalization {
+		/**
+		 * Never reduces automatically.
+		 */
+		public static final Normalization NEVER = new Normalization(Integer.MAX_VALUE);
+
+		/**
+		 * Always reduces the result of an operation.
+		 */
+		public static final Normalization EAGER = new Normalization(-1);
+
+		private final int bitLengthThreshold;
+
+		private final LongAdder reductionCount = new LongAdder();
+
+		private Normalization(int bitLengthThreshold) {
+			this.bitLengthThreshold = bitLengthThreshold;
+		}
+
+		/**
+		 * Creates a normalization that reduces the result of an operation
+		 * if the bit length of its numerator or denominator exceeds the specified threshold.
+		 * 
+		 * @param bitLengthThreshold the bit length threshold (0 or positive)
+		 * @return the created normalization
+		 * @throws IllegalArgumentException if the threshold is negative
+		 */
+		public static Normalization threshold(int bitLengthThreshold) {
+			if (bitLengthThreshold < 0) {
+				throw new IllegalArgumentException("Negative bit length threshold: " + bitLengthThreshold);
+			}
+			return new Normalization(bitLengthThreshold);
+		}
+
+		/**
+		 * Returns the bit length threshold above which results are reduced.
+		 * 
+		 * @return the bit length threshold, -1 for {@link #EAGER} and {@link Integer#MAX_VALUE} for {@link #NEVER}
+		 */
+		public int getBitLengthThreshold() {
+			return bitLengthThreshold;
+		}
+
+		/**
+		 * Returns how often this normalization has reduced a result.
+		 * 
+		 * <p>Only results that were not already in lowest terms are counted.</p>
+		 * 
+		 * <p>The shared instances {@link #EAGER} and {@link #NEVER} count the reductions of all their users in the process.
+		 * Use an instance created with {@link #threshold(int)} to count only the reductions of a specific calculation.</p>
+		 * 
+		 * @return the number of reductions
+		 */
+		public long getReductionCount() {
+			return reductionCount.sum();
+		}
+
+		/**
+		 * Resets the reduction count to 0.
+		 */
+		public void resetReductionCount() {
+			reductionCount.reset();
+		}
+
+		BigRational normalize(BigRational value) {
+			if (bitLengthThreshold == Integer.MAX_VALUE || value.bitLength() <= bitLengthThreshold) {
+				return value;
+			}
+			BigRational reduced = value.reduce();
+			if (reduced != value) {
+				reductionCount.increment();
+			}
+			return reduced;
+		}
+
+		@Override
+		public String toString() {
+			if (this == NEVER) {
+				return "Normalization.NEVER";
+			}
+			if (this == EAGER) {
+				return "Normalization.EAGER";
+			}
+			return "Normalization.threshold(" + bitLengthThreshold + ")";
+		}
 	}
 }
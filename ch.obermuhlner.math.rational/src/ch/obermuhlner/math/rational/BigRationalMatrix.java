@@ -0,0 +1,592 @@
+package ch.obermuhlner.math.rational;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An immutable matrix of {@link BigRational} values.
+ *
+ * <p>All calculations have no loss of precision.</p>
+ *
+ * <p>{@link #determinant()}, {@link #solve(BigRational[])}, {@link #inverse()} and {@link #rank()}
+ * use the fraction-free Bareiss elimination:
+ * every row is scaled to integers by the least common multiple of its denominators
+ * and the elimination steps divide only exactly by the previous pivot.
+ * The size of the intermediate values grows linearly with the matrix size,
+ * instead of exponentially like in the Gaussian elimination with {@link BigRational#divide(BigRational)}.</p>
+ *
+ * <p><a href="https://en.wikipedia.org/wiki/Bareiss_algorithm">Wikipedia: Bareiss algorithm</a></p>
+ *
+ * <p>A matrix in {@link #parallel() parallel mode} calculates the matrix products,
+ * the matrix-vector products and the elimination steps in parallel.
+ * The tasks run in the current {@link ForkJoinPool} if called from a task of a pool,
+ * otherwise in the {@link ForkJoinPool#commonPool() common pool}.
+ * The results of a parallel matrix are in parallel mode as well.</p>
+ */
+public class BigRationalMatrix {
+
+	// size of the square tiles of the result calculated by one task of the parallel matrix product
+	private static final int TILE_SIZE = 8;
+
+	// minimum number of values updated by one task of the parallel elimination
+	private static final int ELIMINATION_TASK_SIZE = 1024;
+
+	private final int rows;
+
+	private final int columns;
+
+	private final BigRational[][] values;
+
+	private final boolean parallel;
+
+	private BigRationalMatrix(BigRational[][] values, boolean parallel) {
+		this.rows = values.length;
+		this.columns = rows == 0 ? 0 : values[0].length;
+		this.values = values;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Returns the number of rows of this matrix.
+	 *
+	 * @return the number of rows
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Returns the number of columns of this matrix.
+	 *
+	 * @return the number of columns
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Returns the value at the specified row and column.
+	 *
+	 * @param row the row index
+	 * @param column the column index
+	 * @return the value
+	 */
+	public BigRational get(int row, int column) {
+		return values[row][column];
+	}
+
+	/**
+	 * Returns the values of this matrix as a new two-dimensional array.
+	 *
+	 * @return the values, indexed by row and column
+	 */
+	public BigRational[][] toArray() {
+		BigRational[][] result = new BigRational[rows][];
+		for (int i = 0; i < rows; i++) {
+			result[i] = values[i].clone();
+		}
+		return result;
+	}
+
+	/**
+	 * Returns whether this matrix is in parallel mode.
+	 *
+	 * @return <code>true</code> if the calculations run in parallel
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Returns this matrix in parallel mode.
+	 *
+	 * <p>The matrix products, matrix-vector products and the eliminations in
+	 * {@link #determinant()}, {@link #rank()}, {@link #solve(BigRational[])} and {@link #inverse()}
+	 * of the returned matrix are calculated in parallel.</p>
+	 *
+	 * @return the matrix in parallel mode
+	 */
+	public BigRationalMatrix parallel() {
+		return parallel ? this : new BigRationalMatrix(values, true);
+	}
+
+	/**
+	 * Returns this matrix in sequential mode.
+	 *
+	 * @return the matrix in sequential mode
+	 * @see #parallel()
+	 */
+	public BigRationalMatrix sequential() {
+		return parallel ? new BigRationalMatrix(values, false) : this;
+	}
+
+	/**
+	 * Returns the transposed matrix.
+	 *
+	 * @return the transposed matrix
+	 */
+	public BigRationalMatrix transpose() {
+		BigRational[][] result = new BigRational[columns][rows];
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				result[j][i] = values[i][j];
+			}
+		}
+		return new BigRationalMatrix(result, parallel);
+	}
+
+	/**
+	 * Calculates the matrix product of this matrix and the specified matrix.
+	 *
+	 * <p>Every element is calculated with {@link BigRational#dot(BigRational[], BigRational[])},
+	 * which accumulates the products over a common denominator.
+	 * In {@link #parallel() parallel mode} the result is split into tiles that are calculated in parallel.</p>
+	 *
+	 * @param other the matrix to multiply
+	 * @return the resulting matrix
+	 * @throws IllegalArgumentException if the number of columns of this matrix is different from the number of rows of the other matrix
+	 */
+	public BigRationalMatrix multiply(BigRationalMatrix other) {
+		checkSize(columns, other.rows);
+		BigRational[][] result = new BigRational[rows][other.columns];
+		multiply(other.transpose().values, result);
+		return new BigRationalMatrix(result, parallel);
+	}
+
+	/**
+	 * Calculates the product of this matrix and the specified column vector.
+	 *
+	 * @param vector the vector to multiply
+	 * @return the resulting vector
+	 * @throws IllegalArgumentException if the length of the vector is different from the number of columns
+	 */
+	public BigRational[] multiply(BigRational[] vector) {
+		checkSize(columns, vector.length);
+		BigRational[][] product = new BigRational[rows][1];
+		multiply(new BigRational[][] { vector }, product);
+
+		BigRational[] result = new BigRational[rows];
+		for (int i = 0; i < rows; i++) {
+			result[i] = product[i][0];
+		}
+		return result;
+	}
+
+	private void multiply(BigRational[][] otherColumns, BigRational[][] result) {
+		MultiplyTask task = new MultiplyTask(values, otherColumns, result, 0, rows, 0, otherColumns.length);
+		if (parallel) {
+			invoke(task);
+		} else {
+			task.multiply();
+		}
+	}
+
+	/**
+	 * Calculates the determinant of this square matrix.
+	 *
+	 * @return the determinant, 1 for the empty matrix
+	 * @throws IllegalArgumentException if the matrix is not square
+	 */
+	public BigRational determinant() {
+		checkSquare();
+		if (rows == 0) {
+			return BigRational.ONE;
+		}
+
+		BigInteger[] scales = new BigInteger[rows];
+		Bareiss bareiss = new Bareiss(parallel, toIntegerRows(null, scales));
+		bareiss.eliminate(columns);
+		if (bareiss.rank < rows) {
+			return BigRational.ZERO;
+		}
+
+		BigInteger determinant = bareiss.matrix[rows - 1][columns - 1];
+		if (bareiss.negated) {
+			determinant = determinant.negate();
+		}
+		// det(A) = det(L * A) / det(L) with the diagonal matrix L of the row scales
+		BigInteger scale = BigInteger.ONE;
+		for (BigInteger rowScale : scales) {
+			scale = scale.multiply(rowScale);
+		}
+		return normalize(BigRational.valueOf(determinant, scale));
+	}
+
+	/**
+	 * Calculates the rank of this matrix (the number of linearly independent rows).
+	 *
+	 * @return the rank
+	 */
+	public int rank() {
+		Bareiss bareiss = new Bareiss(parallel, toIntegerRows(null, new BigInteger[rows]));
+		bareiss.eliminate(columns);
+		return bareiss.rank;
+	}
+
+	/**
+	 * Solves the linear equation system <code>A * x = b</code> where A is this square matrix.
+	 *
+	 * @param vector the right hand side b
+	 * @return the solution x
+	 * @throws IllegalArgumentException if the matrix is not square or the length of the vector is different from the number of rows
+	 * @throws ArithmeticException if the matrix is singular
+	 */
+	public BigRational[] solve(BigRational[] vector) {
+		checkSquare();
+		checkSize(rows, vector.length);
+
+		BigRational[][] right = new BigRational[rows][1];
+		for (int i = 0; i < rows; i++) {
+			right[i][0] = vector[i];
+		}
+		BigRational[][] solution = solve(right);
+
+		BigRational[] result = new BigRational[rows];
+		for (int i = 0; i < rows; i++) {
+			result[i] = solution[i][0];
+		}
+		return result;
+	}
+
+	/**
+	 * Calculates the inverse of this square matrix.
+	 *
+	 * @return the inverse matrix
+	 * @throws IllegalArgumentException if the matrix is not square
+	 * @throws ArithmeticException if the matrix is singular
+	 */
+	public BigRationalMatrix inverse() {
+		checkSquare();
+		return new BigRationalMatrix(solve(identity(rows).values), parallel);
+	}
+
+	// solves A * X = B for all columns of B at once
+	private BigRational[][] solve(BigRational[][] right) {
+		int n = rows;
+		int m = right.length == 0 ? 0 : right[0].length;
+		Bareiss bareiss = new Bareiss(parallel, toIntegerRows(right, new BigInteger[n]));
+		bareiss.eliminate(columns);
+		if (bareiss.rank < n) {
+			throw new ArithmeticException("Singular matrix");
+		}
+
+		// fraction-free back substitution: y = determinant * x is an integer vector (Cramer's rule)
+		BigInteger[][] a = bareiss.matrix;
+		BigInteger determinant = n == 0 ? BigInteger.ONE : a[n - 1][n - 1];
+		BigRational[][] result = new BigRational[n][m];
+		BigInteger[] y = new BigInteger[n];
+		for (int k = 0; k < m; k++) {
+			for (int i = n - 1; i >= 0; i--) {
+				BigInteger sum = determinant.multiply(a[i][n + k]);
+				for (int j = i + 1; j < n; j++) {
+					sum = sum.subtract(a[i][j].multiply(y[j]));
+				}
+				y[i] = sum.divide(a[i][i]);
+				result[i][k] = normalize(BigRational.valueOf(y[i], determinant));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Scales every row (optionally extended with the row of additional columns)
+	 * by the least common multiple of its denominators, so that all values are integers.
+	 */
+	private BigInteger[][] toIntegerRows(BigRational[][] additionalColumns, BigInteger[] scales) {
+		int additional = additionalColumns == null || additionalColumns.length == 0 ? 0 : additionalColumns[0].length;
+		BigInteger[][] result = new BigInteger[rows][columns + additional];
+		for (int i = 0; i < rows; i++) {
+			BigRational[] row = new BigRational[columns + additional];
+			System.arraycopy(values[i], 0, row, 0, columns);
+			if (additional > 0) {
+				System.arraycopy(additionalColumns[i], 0, row, columns, additional);
+			}
+
+			// the compact values are accessed directly, the common case of integer matrices needs no conversions of the denominators
+			BigInteger lcm = BigInteger.ONE;
+			for (BigRational value : row) {
+				if (value.isCompact() && value.compactDenominator == 1) {
+					continue;
+				}
+				BigInteger denominator = value.getDenominator();
+				if (!denominator.equals(BigInteger.ONE)) {
+					lcm = lcm.divide(lcm.gcd(denominator)).multiply(denominator);
+				}
+			}
+			boolean integerRow = lcm.equals(BigInteger.ONE);
+			for (int j = 0; j < row.length; j++) {
+				BigRational value = row[j];
+				if (value.isCompact() && value.compactDenominator == 1) {
+					BigInteger numerator = BigInteger.valueOf(value.compactNumerator);
+					result[i][j] = integerRow ? numerator : numerator.multiply(lcm);
+				}
+				else {
+					result[i][j] = value.getNumerator().multiply(lcm.divide(value.getDenominator()));
+				}
+			}
+			scales[i] = lcm;
+		}
+		return result;
+	}
+
+	private static BigRational normalize(BigRational value) {
+		return BigRational.getDefaultNormalization().normalize(value);
+	}
+
+	private void checkSquare() {
+		if (rows != columns) {
+			throw new IllegalArgumentException("Matrix is not square: " + rows + "x" + columns);
+		}
+	}
+
+	private static void invoke(ForkJoinTask<?> task) {
+		if (ForkJoinTask.inForkJoinPool()) {
+			task.invoke();
+		} else {
+			ForkJoinPool.commonPool().invoke(task);
+		}
+	}
+
+	private static void checkSize(int expected, int actual) {
+		if (expected != actual) {
+			throw new IllegalArgumentException("Different sizes: " + expected + " != " + actual);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.deepHashCode(values);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof BigRationalMatrix)) {
+			return false;
+		}
+
+		BigRationalMatrix other = (BigRationalMatrix) obj;
+		return rows == other.rows && columns == other.columns && Arrays.deepEquals(values, other.values);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.deepToString(values);
+	}
+
+	/**
+	 * Creates a matrix of the specified values.
+	 *
+	 * @param values the values, indexed by row and column (all rows must have the same length)
+	 * @return the matrix
+	 * @throws IllegalArgumentException if the rows have different lengths
+	 */
+	public static BigRationalMatrix valueOf(BigRational[][] values) {
+		BigRational[][] copy = new BigRational[values.length][];
+		for (int i = 0; i < values.length; i++) {
+			checkSize(values[0].length, values[i].length);
+			copy[i] = values[i].clone();
+		}
+		return new BigRationalMatrix(copy, false);
+	}
+
+	/**
+	 * Creates a matrix of the specified int values.
+	 *
+	 * @param values the int values, indexed by row and column (all rows must have the same length)
+	 * @return the matrix
+	 * @throws IllegalArgumentException if the rows have different lengths
+	 */
+	public static BigRationalMatrix valueOf(int[][] values) {
+		BigRational[][] result = new BigRational[values.length][];
+		for (int i = 0; i < values.length; i++) {
+			checkSize(values[0].length, values[i].length);
+			result[i] = new BigRational[values[i].length];
+			for (int j = 0; j < values[i].length; j++) {
+				result[i][j] = BigRational.valueOf(values[i][j]);
+			}
+		}
+		return new BigRationalMatrix(result, false);
+	}
+
+	/**
+	 * Creates the identity matrix of the specified size.
+	 *
+	 * @param size the number of rows and columns
+	 * @return the identity matrix
+	 */
+	public static BigRationalMatrix identity(int size) {
+		BigRational[][] result = new BigRational[size][size];
+		for (int i = 0; i < size; i++) {
+			Arrays.fill(result[i], BigRational.ZERO);
+			result[i][i] = BigRational.ONE;
+		}
+		return new BigRationalMatrix(result, false);
+	}
+
+	/**
+	 * Fraction-free Bareiss elimination of an integer matrix into row echelon form.
+	 */
+	private static class Bareiss {
+		private final boolean parallel;
+
+		private final BigInteger[][] matrix;
+
+		private int rank;
+
+		private boolean negated;
+
+		Bareiss(boolean parallel, BigInteger[][] matrix) {
+			this.parallel = parallel;
+			this.matrix = matrix;
+		}
+
+		/**
+		 * Eliminates the specified number of leading columns.
+		 *
+		 * <p>After the elimination every value is the determinant of a submatrix of the original matrix,
+		 * so the divisions by the previous pivot are exact.</p>
+		 */
+		void eliminate(int eliminationColumns) {
+			int n = matrix.length;
+			int width = n == 0 ? 0 : matrix[0].length;
+			BigInteger previousPivot = BigInteger.ONE;
+			int row = 0;
+			for (int column = 0; column < eliminationColumns && row < n; column++) {
+				int pivotRow = row;
+				while (pivotRow < n && matrix[pivotRow][column].signum() == 0) {
+					pivotRow++;
+				}
+				if (pivotRow == n) {
+					continue;
+				}
+				if (pivotRow != row) {
+					BigInteger[] temp = matrix[row];
+					matrix[row] = matrix[pivotRow];
+					matrix[pivotRow] = temp;
+					negated = !negated;
+				}
+
+				EliminationTask task = new EliminationTask(row, column, previousPivot, row + 1, n);
+				if (parallel && (n - row - 1) * (width - column) > ELIMINATION_TASK_SIZE) {
+					invoke(task);
+				} else {
+					task.eliminate();
+				}
+				previousPivot = matrix[row][column];
+				row++;
+			}
+			rank = row;
+		}
+
+		/**
+		 * Eliminates the pivot column in a range of rows below the pivot row.
+		 * The rows are independent of each other, so the range is split for parallel execution.
+		 */
+		private class EliminationTask extends RecursiveAction {
+			private static final long serialVersionUID = 1L;
+
+			private final int pivotRow;
+			private final int pivotColumn;
+			private final BigInteger previousPivot;
+			private final int from;
+			private final int to;
+
+			EliminationTask(int pivotRow, int pivotColumn, BigInteger previousPivot, int from, int to) {
+				this.pivotRow = pivotRow;
+				this.pivotColumn = pivotColumn;
+				this.previousPivot = previousPivot;
+				this.from = from;
+				this.to = to;
+			}
+
+			@Override
+			protected void compute() {
+				int width = matrix[pivotRow].length;
+				if ((to - from) * (width - pivotColumn) <= ELIMINATION_TASK_SIZE || to - from == 1) {
+					eliminate();
+					return;
+				}
+
+				int middle = (from + to) >>> 1;
+				invokeAll(
+						new EliminationTask(pivotRow, pivotColumn, previousPivot, from, middle),
+						new EliminationTask(pivotRow, pivotColumn, previousPivot, middle, to));
+			}
+
+			void eliminate() {
+				BigInteger[] pivotValues = matrix[pivotRow];
+				BigInteger pivot = pivotValues[pivotColumn];
+				for (int i = from; i < to; i++) {
+					BigInteger[] values = matrix[i];
+					BigInteger factor = values[pivotColumn];
+					for (int j = pivotColumn + 1; j < values.length; j++) {
+						values[j] = values[j].multiply(pivot).subtract(factor.multiply(pivotValues[j])).divide(previousPivot);
+					}
+					values[pivotColumn] = BigInteger.ZERO;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Calculates a tile of the matrix product with {@link BigRational#dot(BigRational[], BigRational[])}.
+	 * Larger tiles are split for parallel execution.
+	 */
+	private static class MultiplyTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final BigRational[][] rows;
+		private final BigRational[][] columns;
+		private final BigRational[][] result;
+		private final int rowFrom;
+		private final int rowTo;
+		private final int columnFrom;
+		private final int columnTo;
+
+		MultiplyTask(BigRational[][] rows, BigRational[][] columns, BigRational[][] result, int rowFrom, int rowTo, int columnFrom, int columnTo) {
+			this.rows = rows;
+			this.columns = columns;
+			this.result = result;
+			this.rowFrom = rowFrom;
+			this.rowTo = rowTo;
+			this.columnFrom = columnFrom;
+			this.columnTo = columnTo;
+		}
+
+		@Override
+		protected void compute() {
+			int rowCount = rowTo - rowFrom;
+			int columnCount = columnTo - columnFrom;
+			if (rowCount <= TILE_SIZE && columnCount <= TILE_SIZE) {
+				multiply();
+				return;
+			}
+
+			if (rowCount >= columnCount) {
+				int middle = (rowFrom + rowTo) >>> 1;
+				invokeAll(
+						new MultiplyTask(rows, columns, result, rowFrom, middle, columnFrom, columnTo),
+						new MultiplyTask(rows, columns, result, middle, rowTo, columnFrom, columnTo));
+			} else {
+				int middle = (columnFrom + columnTo) >>> 1;
+				invokeAll(
+						new MultiplyTask(rows, columns, result, rowFrom, rowTo, columnFrom, middle),
+						new MultiplyTask(rows, columns, result, rowFrom, rowTo, middle, columnTo));
+			}
+		}
+
+		void multiply() {
+			for (int i = rowFrom; i < rowTo; i++) {
+				for (int j = columnFrom; j < columnTo; j++) {
+					result[i][j] = BigRational.dot(rows[i], columns[j]);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package ch.obermuhlner.math.rational;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable polynomial with {@link BigRational} coefficients.
+ *
+ * <p>The coefficients are stored as integer numerators over one common denominator.
+ * A rational argument x = p/q is evaluated homogeneously in integers
+ * as <code>sum(c[i] * p^i * q^(n-i)) / (denominator * q^n)</code>,
+ * so that only the final result is a fraction.</p>
+ *
+ * <p>All calculations have no loss of precision.</p>
+ */
+public class BigRationalPolynomial {
+
+	// numerators of the coefficients over the common denominator, index i is the coefficient of x^i
+	private final BigInteger[] numerators;
+
+	private final BigInteger denominator;
+
+	private BigRationalPolynomial(BigInteger[] numerators, BigInteger denominator) {
+		this.numerators = numerators;
+		this.denominator = denominator;
+	}
+
+	/**
+	 * Returns the degree of this polynomial.
+	 *
+	 * <p>The degree of a constant polynomial (including 0) is 0.</p>
+	 *
+	 * @return the degree
+	 */
+	public int getDegree() {
+		return numerators.length - 1;
+	}
+
+	/**
+	 * Returns the coefficient of x^i.
+	 *
+	 * @param i the power of x (0 or larger)
+	 * @return the coefficient, 0 if i is larger than the degree
+	 */
+	public BigRational getCoefficient(int i) {
+		if (i >= numerators.length) {
+			return BigRational.ZERO;
+		}
+		return BigRational.valueOf(numerators[i], denominator).reduce();
+	}
+
+	/**
+	 * Evaluates this polynomial at the specified argument.
+	 *
+	 * <p>The result is reduced according to the {@link BigRational#getDefaultNormalization() default normalization}.</p>
+	 *
+	 * @param x the argument
+	 * @return the value of the polynomial
+	 */
+	public BigRational evaluate(BigRational x) {
+		return evaluate(x.getNumerator(), powers(x.getDenominator()));
+	}
+
+	/**
+	 * Evaluates this polynomial at all specified arguments.
+	 *
+	 * <p>The powers of the denominators of the arguments are calculated only once for every distinct denominator,
+	 * which is most efficient if the arguments have few different denominators.</p>
+	 *
+	 * <p>The results are reduced according to the {@link BigRational#getDefaultNormalization() default normalization}.</p>
+	 *
+	 * @param xs the arguments
+	 * @return the values of the polynomial, in the order of the arguments
+	 */
+	public BigRational[] evaluate(BigRational... xs) {
+		Map<BigInteger, BigInteger[]> powersCache = new HashMap<>();
+		BigRational[] result = new BigRational[xs.length];
+		for (int i = 0; i < xs.length; i++) {
+			BigInteger[] powers = powersCache.computeIfAbsent(xs[i].getDenominator(), this::powers);
+			result[i] = evaluate(xs[i].getNumerator(), powers);
+		}
+		return result;
+	}
+
+	// q^0 ... q^n and the denominator of the result denominator * q^n
+	private BigInteger[] powers(BigInteger q) {
+		int n = getDegree();
+		BigInteger[] result = new BigInteger[n + 2];
+		result[0] = BigInteger.ONE;
+		for (int i = 1; i <= n; i++) {
+			result[i] = result[i - 1].multiply(q);
+		}
+		result[n + 1] = denominator.multiply(result[n]);
+		return result;
+	}
+
+	private BigRational evaluate(BigInteger p, BigInteger[] powers) {
+		// homogeneous Horner scheme: ((c[n] * p + c[n-1] * q) * p + c[n-2] * q^2) * p + ...
+		int n = getDegree();
+		BigInteger sum = numerators[n];
+		for (int i = n - 1; i >= 0; i--) {
+			sum = sum.multiply(p);
+			if (numerators[i].signum() != 0) {
+				sum = sum.add(numerators[i].multiply(powers[n - i]));
+			}
+		}
+		return BigRational.getDefaultNormalization().normalize(BigRational.valueOf(sum, powers[n + 1]));
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(numerators) + denominator.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof BigRationalPolynomial)) {
+			return false;
+		}
+
+		// the representation is canonical (see valueOf())
+		BigRationalPolynomial other = (BigRationalPolynomial) obj;
+		return denominator.equals(other.denominator) && Arrays.equals(numerators, other.numerators);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (int i = getDegree(); i >= 0; i--) {
+			if (numerators[i].signum() == 0 && numerators.length > 1) {
+				continue;
+			}
+			if (result.length() > 0) {
+				result.append(" + ");
+			}
+			result.append(getCoefficient(i));
+			if (i > 0) {
+				result.append(" * x");
+				if (i > 1) {
+					result.append("^");
+					result.append(i);
+				}
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Creates a polynomial with the specified coefficients.
+	 *
+	 * <p>Example: <code>BigRationalPolynomial.valueOf(ONE, ZERO, valueOf(1, 2))</code> is 1 + x^2/2.</p>
+	 *
+	 * @param coefficients the coefficients, starting with the coefficient of x^0
+	 * @return the polynomial
+	 */
+	public static BigRationalPolynomial valueOf(BigRational... coefficients) {
+		int length = coefficients.length;
+		while (length > 1 && coefficients[length - 1].isZero()) {
+			length--;
+		}
+		if (length == 0) {
+			return new BigRationalPolynomial(new BigInteger[] { BigInteger.ZERO }, BigInteger.ONE);
+		}
+
+		BigRational[] reduced = new BigRational[length];
+		BigInteger lcm = BigInteger.ONE;
+		for (int i = 0; i < length; i++) {
+			reduced[i] = coefficients[i].reduce();
+			BigInteger d = reduced[i].getDenominator();
+			lcm = lcm.divide(lcm.gcd(d)).multiply(d);
+		}
+
+		BigInteger[] numerators = new BigInteger[length];
+		for (int i = 0; i < length; i++) {
+			numerators[i] = reduced[i].getNumerator().multiply(lcm.divide(reduced[i].getDenominator()));
+		}
+		return new BigRationalPolynomial(numerators, lcm);
+	}
+}
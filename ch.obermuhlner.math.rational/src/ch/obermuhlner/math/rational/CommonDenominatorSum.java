@@ -0,0 +1,135 @@
+package ch.obermuhlner.math.rational;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates a sum of products over the running least common multiple of the denominators.
+ *
+ * <p>Numerator and denominator are stored as <code>long</code> as long as they fit, so no objects are allocated.
+ * After the first product that does not fit they are stored as {@link BigInteger}.
+ * If the running least common multiple of distinct denominators grows beyond a limit,
+ * the sum so far is stored as a partial sum and the accumulation starts again,
+ * the partial sums are added in a balanced tree at the end (like {@link BigRational#sum(BigRational...)}).
+ * This avoids multiplying every following term with an ever growing denominator.</p>
+ *
+ * <p>The terms are not reduced. Only a sum in <code>long</code> values is reduced in {@link #toBigRational()},
+ * larger sums are reduced by the caller according to the {@link BigRational#getDefaultNormalization() default normalization},
+ * since reducing a huge sum can cost more than the whole summation.</p>
+ */
+class CommonDenominatorSum {
+
+	// bit length limit of a product, so that the sum of two products cannot overflow
+	private static final int MAX_PRODUCT_BIT_LENGTH = Long.SIZE - 2;
+
+	// bit length of the BigInteger denominator above which the sum is stored as partial sum
+	private static final int MAX_DENOMINATOR_BIT_LENGTH = 1024;
+
+	private long numerator = 0;
+
+	private long denominator = 1;
+
+	// null as long as the sum is stored in numerator and denominator
+	private BigInteger bigNumerator;
+
+	private BigInteger bigDenominator;
+
+	private final List<BigRational> partialSums = new ArrayList<>();
+
+	/**
+	 * Adds the product x * y.
+	 *
+	 * @param x the first factor
+	 * @param y the second factor
+	 */
+	void addProduct(BigRational x, BigRational y) {
+		if (bigDenominator == null && addCompactProduct(x, y)) {
+			return;
+		}
+		if (x.signum() == 0 || y.signum() == 0) {
+			return;
+		}
+
+		if (bigDenominator == null) {
+			bigNumerator = BigInteger.valueOf(numerator);
+			bigDenominator = BigInteger.valueOf(denominator);
+		}
+		BigInteger n = x.getNumerator().multiply(y.getNumerator());
+		BigInteger m = x.getDenominator().multiply(y.getDenominator());
+		BigInteger gcd = bigDenominator.gcd(m);
+		BigInteger mDivGcd = m.divide(gcd);
+		bigNumerator = bigNumerator.multiply(mDivGcd).add(n.multiply(bigDenominator.divide(gcd)));
+		bigDenominator = bigDenominator.multiply(mDivGcd);
+
+		if (bigDenominator.bitLength() > MAX_DENOMINATOR_BIT_LENGTH) {
+			partialSums.add(BigRational.valueOf(bigNumerator, bigDenominator));
+			numerator = 0;
+			denominator = 1;
+			bigNumerator = null;
+			bigDenominator = null;
+		}
+	}
+
+	// adds the product x * y if the result fits into the long numerator and denominator, otherwise the sum is unchanged
+	private boolean addCompactProduct(BigRational x, BigRational y) {
+		if (!x.isCompact() || !y.isCompact()) {
+			return false;
+		}
+
+		long a = x.compactNumerator;
+		long b = x.compactDenominator;
+		long c = y.compactNumerator;
+		long d = y.compactDenominator;
+		if (a == 0 || c == 0) {
+			return true;
+		}
+		// checking the bit lengths upfront is much cheaper than catching the ArithmeticException of Math.multiplyExact()
+		if (!fitsProduct(a, c) || !fitsProduct(b, d)) {
+			return false;
+		}
+
+		long n = a * c;
+		long m = b * d;
+		long gcd = BigRational.gcd(denominator, m);
+		long mDivGcd = m / gcd;
+		long denominatorDivGcd = denominator / gcd;
+		if (!fitsProduct(numerator, mDivGcd) || !fitsProduct(n, denominatorDivGcd) || !fitsProduct(denominator, mDivGcd)) {
+			return false;
+		}
+
+		numerator = numerator * mDivGcd + n * denominatorDivGcd;
+		denominator = denominator * mDivGcd;
+		return true;
+	}
+
+	/**
+	 * Returns the accumulated sum, reduced to the smallest numerator/denominator if it fits into <code>long</code> values.
+	 *
+	 * @return the sum as {@link BigRational}
+	 */
+	BigRational toBigRational() {
+		BigRational current;
+		if (bigDenominator != null) {
+			current = BigRational.valueOf(bigNumerator, bigDenominator);
+		}
+		else {
+			long gcd = BigRational.gcd(numerator, denominator);
+			current = BigRational.valueOfReduced(numerator / gcd, denominator / gcd);
+		}
+		if (partialSums.isEmpty()) {
+			return current;
+		}
+		partialSums.add(current);
+		return BigRational.sum(partialSums);
+	}
+
+	private static boolean fitsProduct(long x, long y) {
+		// the arguments are never Long.MIN_VALUE
+		return bitLength(x) + bitLength(y) <= MAX_PRODUCT_BIT_LENGTH;
+	}
+
+	private static int bitLength(long value) {
+		return Long.SIZE - Long.numberOfLeadingZeros(Math.abs(value));
+	}
+}
@@ -0,0 +1,352 @@
+package ch.obermuhlner.math.rational;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * An immutable hypergeometric-type series with integer polynomial coefficients
+ * that is summed by <a href="https://en.wikipedia.org/wiki/Binary_splitting">binary splitting</a>.
+ *
+ * <p>The series is
+ * <code>sum(a(k)/b(k) * p(1)*p(2)*...*p(k) / (q(1)*q(2)*...*q(k)))</code> for k = 0, 1, 2, ...
+ * where a, b, p and q are polynomials in k with integer coefficients.</p>
+ *
+ * <p>Example: <code>exp(1) = sum(1/k!)</code> has a(k) = 1, b(k) = 1, p(k) = 1 and q(k) = k:</p>
+ * <pre>
+ * HypergeometricSeries.valueOf(new long[] { 1 }, new long[] { 1 }, new long[] { 1 }, new long[] { 0, 1 }).sum(100)
+ * </pre>
+ *
+ * <p>Binary splitting calculates the sum of the terms n1 to n2 as the integers
+ * P = p(n1)*...*p(n2-1), Q = q(n1)*...*q(n2-1), B = b(n1)*...*b(n2-1) and T = B*Q*sum,
+ * recursively from the two halves of the range.
+ * The multiplied integers have similar sizes and the only division is the final T/(B*Q).</p>
+ *
+ * <p>A series in {@link #parallel() parallel mode} calculates the halves of large ranges in parallel.
+ * The tasks run in the current {@link ForkJoinPool} if called from a task of a pool,
+ * otherwise in the {@link ForkJoinPool#commonPool() common pool}.</p>
+ *
+ * <p><a href="https://www.ginac.de/CLN/binsplit.pdf">Haible, Papanikolaou: Fast multiprecision evaluation of series of rational numbers</a></p>
+ */
+public class HypergeometricSeries {
+
+	// below this number of terms a range is split sequentially
+	private static final int SPLIT_TASK_SIZE = 256;
+
+	// additional bits of precision for the estimate of the number of terms
+	private static final int GUARD_BITS = 32;
+
+	private static final double LOG2_10 = Math.log(10) / Math.log(2);
+
+	private static final BigInteger[] ONE = { BigInteger.ONE };
+
+	private final BigInteger[] a;
+
+	private final BigInteger[] b;
+
+	private final BigInteger[] p;
+
+	private final BigInteger[] q;
+
+	private final boolean parallel;
+
+	private HypergeometricSeries(BigInteger[] a, BigInteger[] b, BigInteger[] p, BigInteger[] q, boolean parallel) {
+		this.a = a;
+		this.b = b;
+		this.p = p;
+		this.q = q;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Returns whether this series is in parallel mode.
+	 *
+	 * @return <code>true</code> if the binary splitting runs in parallel
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Returns this series in parallel mode.
+	 *
+	 * <p>The halves of large ranges of terms of the returned series are calculated in parallel.</p>
+	 *
+	 * @return the series in parallel mode
+	 */
+	public HypergeometricSeries parallel() {
+		return parallel ? this : new HypergeometricSeries(a, b, p, q, true);
+	}
+
+	/**
+	 * Returns this series in sequential mode.
+	 *
+	 * @return the series in sequential mode
+	 * @see #parallel()
+	 */
+	public HypergeometricSeries sequential() {
+		return parallel ? new HypergeometricSeries(a, b, p, q, false) : this;
+	}
+
+	/**
+	 * Calculates the sum of this series.
+	 *
+	 * <p>The result has loss of precision, the desired precision must be specified by the <code>scale</code> argument.</p>
+	 *
+	 * <p>The number of terms is estimated so that the remainder of the series is smaller than 2<sup>-32</sup> * 10<sup>-scale</sup>.
+	 * The result is rounded (half up) to the specified scale.</p>
+	 *
+	 * @param scale the scale (number of digits after the decimal point) of the calculated result
+	 * @return the calculated sum as rational number
+	 * @throws ArithmeticException if b(k) or q(k) is 0 for a summed term
+	 */
+	public BigRational sum(int scale) {
+		return BigRational.valueOf(sum(scale, RoundingMode.HALF_UP));
+	}
+
+	BigDecimal sum(int scale, RoundingMode roundingMode) {
+		BigInteger[] pqbt = split(terms(scale));
+		return new BigDecimal(pqbt[3]).divide(new BigDecimal(pqbt[2].multiply(pqbt[1])), scale, roundingMode);
+	}
+
+	/**
+	 * Calculates the number of terms that are needed for the specified scale.
+	 *
+	 * <p>The remainder after term k is bounded with bounds of the polynomials that are monotone for all following terms
+	 * (see {@link #upperBound(BigInteger[], BigInteger)} and {@link #lowerBound(BigInteger[], BigInteger)}),
+	 * so that roots and sign changes of the polynomials beyond k cannot make the remainder larger than estimated.</p>
+	 */
+	int terms(int scale) {
+		double targetBits = -(Math.max(0, scale) * LOG2_10 + GUARD_BITS);
+		int degreeA = degree(a);
+
+		// log2 of |p(1)*...*p(k) / (q(1)*...*q(k))|
+		double logProduct = 0;
+		for (int k = 1; k < Integer.MAX_VALUE - 1; k++) {
+			BigInteger valueK = BigInteger.valueOf(k);
+			BigInteger termP = evaluate(p, valueK);
+			if (termP.signum() == 0) {
+				// all following terms are 0
+				return k;
+			}
+			BigInteger termQ = evaluate(q, valueK);
+			if (termQ.signum() == 0) {
+				throw new ArithmeticException("Divide by zero in term " + k);
+			}
+			logProduct += log2(termP) - log2(termQ);
+
+			// for i >= k: |a(i)/b(i)| grows at most by ((k+1)/k)^deg(a) and |p(i+1)/q(i+1)| is at most |p|/|q| bounded at k+1
+			BigInteger lowerB = lowerBound(b, valueK);
+			BigInteger nextK = valueK.add(BigInteger.ONE);
+			BigInteger lowerQ = lowerBound(q, nextK);
+			if (lowerB.signum() > 0 && lowerQ.signum() > 0) {
+				double logRatio = log2(upperBound(p, nextK)) - log2(lowerQ) + degreeA * log2((k + 1.0) / k);
+				if (logRatio < 0) {
+					// the remainder is at most the geometric series term / (1 - ratio)
+					double logTerm = logProduct + log2(upperBound(a, valueK)) - log2(lowerB);
+					if (logTerm - log2(1 - Math.pow(2, logRatio)) < targetBits) {
+						return k;
+					}
+				}
+			}
+		}
+		throw new ArithmeticException("Too many terms for scale " + scale);
+	}
+
+	/**
+	 * Calculates the binary splitting of the terms 0 to n (exclusive), resulting in the integers {P, Q, B, T}.
+	 */
+	BigInteger[] split(int n) {
+		if (parallel && n > SPLIT_TASK_SIZE) {
+			SplitTask task = new SplitTask(0, n);
+			if (ForkJoinTask.inForkJoinPool()) {
+				return task.invoke();
+			}
+			return ForkJoinPool.commonPool().invoke(task);
+		}
+		return splitSequential(0, n);
+	}
+
+	private BigInteger[] splitSequential(int n1, int n2) {
+		if (n2 - n1 == 1) {
+			return term(n1);
+		}
+
+		int middle = (n1 + n2) >>> 1;
+		return merge(splitSequential(n1, middle), splitSequential(middle, n2));
+	}
+
+	private BigInteger[] term(int k) {
+		BigInteger valueK = BigInteger.valueOf(k);
+		BigInteger termB = evaluate(b, valueK);
+		BigInteger termP = k == 0 ? BigInteger.ONE : evaluate(p, valueK);
+		BigInteger termQ = k == 0 ? BigInteger.ONE : evaluate(q, valueK);
+		if (termB.signum() == 0 || termQ.signum() == 0) {
+			throw new ArithmeticException("Divide by zero in term " + k);
+		}
+		return new BigInteger[] { termP, termQ, termB, evaluate(a, valueK).multiply(termP) };
+	}
+
+	private BigInteger[] merge(BigInteger[] left, BigInteger[] right) {
+		// P = Pl*Pr, Q = Ql*Qr, B = Bl*Br, T = Br*Qr*Tl + Bl*Pl*Tr
+		BigInteger mergedP = left[0].multiply(right[0]);
+		BigInteger mergedQ = left[1].multiply(right[1]);
+		if (b == ONE) {
+			// B is always 1
+			BigInteger t = right[1].multiply(left[3]).add(left[0].multiply(right[3]));
+			return new BigInteger[] { mergedP, mergedQ, BigInteger.ONE, t };
+		}
+		BigInteger mergedB = left[2].multiply(right[2]);
+		BigInteger t = right[2].multiply(right[1]).multiply(left[3]).add(left[2].multiply(left[0]).multiply(right[3]));
+		return new BigInteger[] { mergedP, mergedQ, mergedB, t };
+	}
+
+	private class SplitTask extends RecursiveTask<BigInteger[]> {
+		private static final long serialVersionUID = 1L;
+
+		private final int n1;
+		private final int n2;
+
+		SplitTask(int n1, int n2) {
+			this.n1 = n1;
+			this.n2 = n2;
+		}
+
+		@Override
+		protected BigInteger[] compute() {
+			if (n2 - n1 <= SPLIT_TASK_SIZE) {
+				return splitSequential(n1, n2);
+			}
+
+			int middle = (n1 + n2) >>> 1;
+			SplitTask right = new SplitTask(middle, n2);
+			right.fork();
+			BigInteger[] left = new SplitTask(n1, middle).compute();
+			return merge(left, right.join());
+		}
+	}
+
+	// the limit of |p(k)/q(k)| for k to infinity
+	private double limitRatio() {
+		int degreeP = degree(p);
+		int degreeQ = degree(q);
+		if (degreeP < degreeQ) {
+			return 0;
+		}
+		return Math.abs(p[degreeP].doubleValue() / q[degreeQ].doubleValue());
+	}
+
+	private static BigInteger evaluate(BigInteger[] coefficients, BigInteger x) {
+		BigInteger result = coefficients[coefficients.length - 1];
+		for (int i = coefficients.length - 2; i >= 0; i--) {
+			result = result.multiply(x).add(coefficients[i]);
+		}
+		return result;
+	}
+
+	// upper bound of |c(x)| for x >= 1 that is increasing in x: |c(n)| x^n + (|c(0)| + ... + |c(n-1)|) x^(n-1)
+	private static BigInteger upperBound(BigInteger[] coefficients, BigInteger x) {
+		return bound(coefficients, x, false);
+	}
+
+	// lower bound of |c(x)| for x >= 1 that is increasing in x where it is positive: |c(n)| x^n - (|c(0)| + ... + |c(n-1)|) x^(n-1)
+	private static BigInteger lowerBound(BigInteger[] coefficients, BigInteger x) {
+		return bound(coefficients, x, true);
+	}
+
+	private static BigInteger bound(BigInteger[] coefficients, BigInteger x, boolean lower) {
+		int degree = degree(coefficients);
+		BigInteger leading = coefficients[degree].abs();
+		if (degree == 0) {
+			return leading;
+		}
+
+		BigInteger rest = BigInteger.ZERO;
+		for (int i = 0; i < degree; i++) {
+			rest = rest.add(coefficients[i].abs());
+		}
+		BigInteger result = leading.multiply(x);
+		result = lower ? result.subtract(rest) : result.add(rest);
+		return result.multiply(x.pow(degree - 1));
+	}
+
+	private static int degree(BigInteger[] coefficients) {
+		return coefficients.length - 1;
+	}
+
+	private static double log2(double value) {
+		return Math.log(value) / Math.log(2);
+	}
+
+	// log2(|value|), also for values outside the range of double
+	private static double log2(BigInteger value) {
+		int shift = Math.max(0, value.bitLength() - Long.SIZE);
+		return shift + log2(Math.abs(value.shiftRight(shift).doubleValue()));
+	}
+
+	/**
+	 * Creates a series with the specified polynomials.
+	 *
+	 * @param a the coefficients of the polynomial a(k), starting with the coefficient of k^0
+	 * @param b the coefficients of the polynomial b(k), starting with the coefficient of k^0
+	 * @param p the coefficients of the polynomial p(k), starting with the coefficient of k^0
+	 * @param q the coefficients of the polynomial q(k), starting with the coefficient of k^0
+	 * @return the series (in sequential mode)
+	 * @throws IllegalArgumentException if a polynomial has no coefficients
+	 * or the series does not converge geometrically (p(k)/q(k) does not converge to a value smaller than 1)
+	 */
+	public static HypergeometricSeries valueOf(long[] a, long[] b, long[] p, long[] q) {
+		return valueOf(toBigIntegers(a), toBigIntegers(b), toBigIntegers(p), toBigIntegers(q));
+	}
+
+	/**
+	 * Creates a series with the specified polynomials.
+	 *
+	 * @param a the coefficients of the polynomial a(k), starting with the coefficient of k^0
+	 * @param b the coefficients of the polynomial b(k), starting with the coefficient of k^0
+	 * @param p the coefficients of the polynomial p(k), starting with the coefficient of k^0
+	 * @param q the coefficients of the polynomial q(k), starting with the coefficient of k^0
+	 * @return the series (in sequential mode)
+	 * @throws IllegalArgumentException if a polynomial has no coefficients
+	 * or the series does not converge geometrically (p(k)/q(k) does not converge to a value smaller than 1)
+	 */
+	public static HypergeometricSeries valueOf(BigInteger[] a, BigInteger[] b, BigInteger[] p, BigInteger[] q) {
+		BigInteger[] trimmedB = trim(b);
+		HypergeometricSeries series = new HypergeometricSeries(trim(a), trimmedB.length == 1 && trimmedB[0].equals(BigInteger.ONE) ? ONE : trimmedB, trim(p), trim(q), false);
+		if (series.q[series.q.length - 1].signum() == 0) {
+			throw new IllegalArgumentException("Polynomial q(k) is 0");
+		}
+		if (series.b[series.b.length - 1].signum() == 0) {
+			throw new IllegalArgumentException("Polynomial b(k) is 0");
+		}
+		if (degree(series.p) > degree(series.q) || series.limitRatio() >= 1) {
+			throw new IllegalArgumentException("Series does not converge geometrically");
+		}
+		return series;
+	}
+
+	// removes the leading zero coefficients (but keeps at least one coefficient)
+	private static BigInteger[] trim(BigInteger[] coefficients) {
+		if (coefficients.length == 0) {
+			throw new IllegalArgumentException("Polynomial without coefficients");
+		}
+		int length = coefficients.length;
+		while (length > 1 && coefficients[length - 1].signum() == 0) {
+			length--;
+		}
+		BigInteger[] result = new BigInteger[length];
+		System.arraycopy(coefficients, 0, result, 0, length);
+		return result;
+	}
+
+	private static BigInteger[] toBigIntegers(long[] values) {
+		BigInteger[] result = new BigInteger[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = BigInteger.valueOf(values[i]);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,215 @@
+package ch.obermuhlner.math.rational;
+
+/**
+ * A mutable rational number to accumulate the results of many calculations.
+ *
+ * <p>Loops like <code>r = r.add(x)</code> create a new {@link BigRational} in every iteration.
+ * A {@link MutableBigRational} is modified in place instead:
+ * <pre>
+ * MutableBigRational sum = new MutableBigRational();
+ * for (BigRational x : values) {
+ *     sum.addTo(x);
+ * }
+ * BigRational result = sum.toImmutable();
+ * </pre>
+ * </p>
+ *
+ * <p>As long as numerator and denominator fit into a <code>long</code> the value is kept in lowest terms
+ * in primitive fields and the calculations do not allocate any objects.
+ * If a calculation overflows the value is promoted to a {@link BigRational}
+ * and demoted again as soon as it fits into a <code>long</code>.</p>
+ *
+ * <p>All calculations have no loss of precision.</p>
+ *
+ * <p>Instances of this class are not thread-safe.</p>
+ */
+public class MutableBigRational {
+
+	// numerator and denominator in lowest terms, only valid if value is null
+	private long numerator;
+
+	private long denominator;
+
+	// null if the value is stored in the compact representation
+	private BigRational value;
+
+	/**
+	 * Creates a mutable rational number with the value 0.
+	 */
+	public MutableBigRational() {
+		this(BigRational.ZERO);
+	}
+
+	/**
+	 * Creates a mutable rational number with the specified initial value.
+	 *
+	 * @param value the initial value
+	 */
+	public MutableBigRational(BigRational value) {
+		set(value);
+	}
+
+	/**
+	 * Sets the value of this mutable rational number.
+	 *
+	 * @param value the new value
+	 * @return this mutable rational number
+	 */
+	public MutableBigRational set(BigRational value) {
+		this.value = value;
+		demote();
+		return this;
+	}
+
+	/**
+	 * Adds the specified rational number to this mutable rational number.
+	 *
+	 * @param value the rational number to add
+	 * @return this mutable rational number
+	 * @see BigRational#add(BigRational)
+	 */
+	public MutableBigRational addTo(BigRational value) {
+		if (isCompact() && value.isCompact()) {
+			try {
+				add(value.compactNumerator, value.compactDenominator);
+				return this;
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+		this.value = toImmutable().add(value);
+		demote();
+		return this;
+	}
+
+	/**
+	 * Subtracts the specified rational number from this mutable rational number.
+	 *
+	 * @param value the rational number to subtract
+	 * @return this mutable rational number
+	 * @see BigRational#subtract(BigRational)
+	 */
+	public MutableBigRational subtractFrom(BigRational value) {
+		if (isCompact() && value.isCompact()) {
+			try {
+				// the compact numerator is never Long.MIN_VALUE, so it can be negated
+				add(-value.compactNumerator, value.compactDenominator);
+				return this;
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+		this.value = toImmutable().subtract(value);
+		demote();
+		return this;
+	}
+
+	/**
+	 * Multiplies this mutable rational number by the specified rational number.
+	 *
+	 * @param value the rational number to multiply
+	 * @return this mutable rational number
+	 * @see BigRational#multiply(BigRational)
+	 */
+	public MutableBigRational multiplyBy(BigRational value) {
+		if (isCompact() && value.isCompact()) {
+			try {
+				multiply(value.compactNumerator, value.compactDenominator);
+				return this;
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+		this.value = toImmutable().multiply(value);
+		demote();
+		return this;
+	}
+
+	/**
+	 * Divides this mutable rational number by the specified rational number.
+	 *
+	 * @param value the rational number to divide (0 is not allowed)
+	 * @return this mutable rational number
+	 * @throws ArithmeticException if the argument is 0 (division by zero)
+	 * @see BigRational#divide(BigRational)
+	 */
+	public MutableBigRational divideBy(BigRational value) {
+		if (value.isZero()) {
+			throw new ArithmeticException("Divide by zero");
+		}
+		if (isCompact() && value.isCompact()) {
+			try {
+				// a/b / c/d = a/b * d/c (the sign is normalized by multiply())
+				multiply(value.compactDenominator, value.compactNumerator);
+				return this;
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+		this.value = toImmutable().divide(value);
+		demote();
+		return this;
+	}
+
+	/**
+	 * Returns the current value of this mutable rational number as an immutable {@link BigRational}.
+	 *
+	 * @return the {@link BigRational} value
+	 */
+	public BigRational toImmutable() {
+		if (isCompact()) {
+			return BigRational.valueOfReduced(numerator, denominator);
+		}
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return toImmutable().toString();
+	}
+
+	private boolean isCompact() {
+		return value == null;
+	}
+
+	private void demote() {
+		if (value.isCompact()) {
+			long gcd = BigRational.gcd(value.compactNumerator, value.compactDenominator);
+			numerator = value.compactNumerator / gcd;
+			denominator = value.compactDenominator / gcd;
+			value = null;
+		}
+	}
+
+	// fields are only modified if the calculation does not overflow
+	private void add(long c, long d) {
+		long gcd = BigRational.gcd(denominator, d);
+		long bDivGcd = denominator / gcd;
+		long t = Math.addExact(Math.multiplyExact(numerator, d / gcd), Math.multiplyExact(c, bDivGcd));
+		long m = Math.multiplyExact(bDivGcd, d);
+		setCompact(t, m);
+	}
+
+	// fields are only modified if the calculation does not overflow
+	private void multiply(long c, long d) {
+		long gcd1 = BigRational.gcd(numerator, d);
+		long gcd2 = BigRational.gcd(c, denominator);
+		long n = Math.multiplyExact(numerator / gcd1, c / gcd2);
+		long m = Math.multiplyExact(denominator / gcd2, d / gcd1);
+		setCompact(n, m);
+	}
+
+	private void setCompact(long n, long m) {
+		if (n == Long.MIN_VALUE || m == Long.MIN_VALUE) {
+			throw new ArithmeticException("Overflow");
+		}
+		if (m < 0) {
+			n = -n;
+			m = -m;
+		}
+		// the arguments may not be in lowest terms if the added or multiplied value was not reduced
+		long gcd = BigRational.gcd(n, m);
+		numerator = n / gcd;
+		denominator = m / gcd;
+	}
+}
@@ -0,0 +1,364 @@
+package ch.obermuhlner.math.rational;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * An immutable vector of rational numbers stored as integer numerators over one common denominator.
+ *
+ * <p>Arrays of {@link BigRational} that share a denominator (for example prices in 1/100 units)
+ * are stored much more compactly:
+ * the numerators are stored in a <code>long[]</code> as long as they fit,
+ * otherwise in a <code>BigInteger[]</code>.</p>
+ *
+ * <p>The element-wise calculations are pure integer arithmetic on the numerators.
+ * The common denominator is always the smallest possible one.</p>
+ *
+ * <p>All calculations have no loss of precision.</p>
+ */
+public class RationalVector {
+
+	// numerators over the common denominator, null if stored in numerators
+	private final long[] compactNumerators;
+
+	// numerators over the common denominator, null if stored in compactNumerators
+	private final BigInteger[] numerators;
+
+	private final BigInteger denominator;
+
+	private RationalVector(long[] compactNumerators, BigInteger[] numerators, BigInteger denominator) {
+		this.compactNumerators = compactNumerators;
+		this.numerators = numerators;
+		this.denominator = denominator;
+	}
+
+	/**
+	 * Returns the number of elements of this vector.
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		return isCompact() ? compactNumerators.length : numerators.length;
+	}
+
+	/**
+	 * Returns the element at the specified index.
+	 *
+	 * @param index the index
+	 * @return the element, reduced to the smallest numerator/denominator
+	 */
+	public BigRational get(int index) {
+		return BigRational.valueOf(numerator(index), denominator).reduce();
+	}
+
+	/**
+	 * Returns the common denominator of all elements.
+	 *
+	 * @return the common denominator (positive)
+	 */
+	public BigInteger getDenominator() {
+		return denominator;
+	}
+
+	/**
+	 * Returns the elements of this vector as {@link BigRational} array.
+	 *
+	 * @return the elements
+	 */
+	public BigRational[] toArray() {
+		BigRational[] result = new BigRational[size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a vector with the elements from the specified index (inclusive) to the specified index (exclusive).
+	 *
+	 * @param from the index of the first element (inclusive)
+	 * @param to the index of the last element (exclusive)
+	 * @return the sliced vector
+	 * @throws IndexOutOfBoundsException if the indexes are out of range
+	 */
+	public RationalVector slice(int from, int to) {
+		if (from < 0 || to > size() || from > to) {
+			throw new IndexOutOfBoundsException("Slice " + from + " to " + to + " of size " + size());
+		}
+		if (isCompact()) {
+			return create(Arrays.copyOfRange(compactNumerators, from, to), denominator);
+		}
+		return create(Arrays.copyOfRange(numerators, from, to), denominator);
+	}
+
+	/**
+	 * Calculates the element-wise addition (+) of this vector and the specified vector.
+	 *
+	 * @param other the vector to add
+	 * @return the resulting vector
+	 * @throws IllegalArgumentException if the vectors have different sizes
+	 */
+	public RationalVector add(RationalVector other) {
+		checkSameSize(other);
+		if (isCompact() && other.isCompact() && denominator.equals(other.denominator)) {
+			try {
+				long[] result = new long[compactNumerators.length];
+				for (int i = 0; i < result.length; i++) {
+					result[i] = Math.addExact(compactNumerators[i], other.compactNumerators[i]);
+				}
+				return create(result, denominator);
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+
+		BigInteger gcd = denominator.gcd(other.denominator);
+		BigInteger factor = other.denominator.divide(gcd);
+		BigInteger otherFactor = denominator.divide(gcd);
+		BigInteger[] result = new BigInteger[size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = numerator(i).multiply(factor).add(other.numerator(i).multiply(otherFactor));
+		}
+		return create(result, denominator.multiply(factor));
+	}
+
+	/**
+	 * Calculates the multiplication (*) of every element of this vector with the specified rational number.
+	 *
+	 * @param value the rational number to multiply
+	 * @return the resulting vector
+	 */
+	public RationalVector scale(BigRational value) {
+		BigInteger resultDenominator = denominator.multiply(value.getDenominator());
+		if (isCompact() && value.isCompact()) {
+			try {
+				long factor = value.compactNumerator;
+				long[] result = new long[compactNumerators.length];
+				for (int i = 0; i < result.length; i++) {
+					result[i] = Math.multiplyExact(compactNumerators[i], factor);
+				}
+				return create(result, resultDenominator);
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+		}
+
+		BigInteger valueNumerator = value.getNumerator();
+		BigInteger[] result = new BigInteger[size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = numerator(i).multiply(valueNumerator);
+		}
+		return create(result, resultDenominator);
+	}
+
+	/**
+	 * Calculates the dot product of this vector and the specified vector (the sum of the element-wise products).
+	 *
+	 * <p>The products of the numerators are summed as integers and divided only once by the product of the denominators.
+	 * The result is reduced according to the {@link BigRational#getDefaultNormalization() default normalization}.</p>
+	 *
+	 * @param other the other vector
+	 * @return the dot product
+	 * @throws IllegalArgumentException if the vectors have different sizes
+	 */
+	public BigRational dot(RationalVector other) {
+		checkSameSize(other);
+		BigInteger sum = BigInteger.ZERO;
+		int start = 0;
+		if (isCompact() && other.isCompact()) {
+			long compactSum = 0;
+			try {
+				for (; start < compactNumerators.length; start++) {
+					compactSum = Math.addExact(compactSum, Math.multiplyExact(compactNumerators[start], other.compactNumerators[start]));
+				}
+			} catch (ArithmeticException e) {
+				// overflow - continue with arbitrary precision
+			}
+			sum = BigInteger.valueOf(compactSum);
+		}
+		for (int i = start; i < size(); i++) {
+			sum = sum.add(numerator(i).multiply(other.numerator(i)));
+		}
+		return BigRational.getDefaultNormalization().normalize(BigRational.valueOf(sum, denominator.multiply(other.denominator)));
+	}
+
+	private boolean isCompact() {
+		return compactNumerators != null;
+	}
+
+	private BigInteger numerator(int index) {
+		return isCompact() ? BigInteger.valueOf(compactNumerators[index]) : numerators[index];
+	}
+
+	private void checkSameSize(RationalVector other) {
+		if (size() != other.size()) {
+			throw new IllegalArgumentException("Different sizes: " + size() + " != " + other.size());
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		int result = isCompact() ? Arrays.hashCode(compactNumerators) : Arrays.hashCode(numerators);
+		return 31 * result + denominator.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof RationalVector)) {
+			return false;
+		}
+
+		// the representation is canonical (see create())
+		RationalVector other = (RationalVector) obj;
+		if (!denominator.equals(other.denominator) || isCompact() != other.isCompact()) {
+			return false;
+		}
+		return isCompact() ? Arrays.equals(compactNumerators, other.compactNumerators) : Arrays.equals(numerators, other.numerators);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	/**
+	 * Creates a vector of the specified rational numbers.
+	 *
+	 * @param values the rational numbers
+	 * @return the vector
+	 */
+	public static RationalVector valueOf(BigRational... values) {
+		RationalVector compact = valueOfCompact(values);
+		if (compact != null) {
+			return compact;
+		}
+
+		BigInteger lcm = BigInteger.ONE;
+		for (BigRational value : values) {
+			BigInteger d = value.getDenominator();
+			lcm = lcm.divide(lcm.gcd(d)).multiply(d);
+		}
+
+		BigInteger[] result = new BigInteger[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = values[i].getNumerator().multiply(lcm.divide(values[i].getDenominator()));
+		}
+		return create(result, lcm);
+	}
+
+	// null if a value is not compact or the calculation of the numerators overflows
+	private static RationalVector valueOfCompact(BigRational[] values) {
+		try {
+			long lcm = 1;
+			for (BigRational value : values) {
+				if (!value.isCompact()) {
+					return null;
+				}
+				long d = value.compactDenominator;
+				lcm = Math.multiplyExact(lcm / gcd(lcm, d), d);
+			}
+
+			long[] result = new long[values.length];
+			for (int i = 0; i < values.length; i++) {
+				result[i] = Math.multiplyExact(values[i].compactNumerator, lcm / values[i].compactDenominator);
+			}
+			return create(result, BigInteger.valueOf(lcm));
+		} catch (ArithmeticException e) {
+			// overflow - continue with arbitrary precision
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a vector of the specified numerators over the specified common denominator.
+	 *
+	 * <p>Example: <code>RationalVector.valueOf(new long[] { 199, 2450 }, 100)</code> are the prices 1.99 and 24.50.</p>
+	 *
+	 * @param numerators the numerators
+	 * @param denominator the common denominator (0 is not allowed)
+	 * @return the vector
+	 * @throws ArithmeticException if the denominator is 0 (division by zero)
+	 */
+	public static RationalVector valueOf(long[] numerators, long denominator) {
+		if (denominator == 0) {
+			throw new ArithmeticException("Divide by zero");
+		}
+		long[] copy = numerators.clone();
+		BigInteger d = BigInteger.valueOf(denominator);
+		if (denominator < 0) {
+			BigInteger[] negated = new BigInteger[copy.length];
+			for (int i = 0; i < copy.length; i++) {
+				negated[i] = BigInteger.valueOf(copy[i]).negate();
+			}
+			return create(negated, d.negate());
+		}
+		return create(copy, d);
+	}
+
+	private static RationalVector create(long[] numerators, BigInteger denominator) {
+		if (denominator.bitLength() >= Long.SIZE) {
+			return create(toBigIntegers(numerators), denominator);
+		}
+
+		long d = denominator.longValue();
+		long gcd = d;
+		for (int i = 0; i < numerators.length && gcd != 1; i++) {
+			gcd = gcd(gcd, numerators[i]);
+		}
+		if (gcd == 1) {
+			return new RationalVector(numerators, null, denominator);
+		}
+		for (int i = 0; i < numerators.length; i++) {
+			numerators[i] /= gcd;
+		}
+		return new RationalVector(numerators, null, BigInteger.valueOf(d / gcd));
+	}
+
+	private static RationalVector create(BigInteger[] numerators, BigInteger denominator) {
+		BigInteger gcd = denominator;
+		for (int i = 0; i < numerators.length && !gcd.equals(BigInteger.ONE); i++) {
+			gcd = gcd.gcd(numerators[i]);
+		}
+
+		boolean compact = true;
+		for (int i = 0; i < numerators.length; i++) {
+			if (!gcd.equals(BigInteger.ONE)) {
+				numerators[i] = numerators[i].divide(gcd);
+			}
+			compact &= numerators[i].bitLength() < Long.SIZE;
+		}
+		BigInteger d = denominator.divide(gcd);
+
+		if (!compact) {
+			return new RationalVector(null, numerators, d);
+		}
+		long[] result = new long[numerators.length];
+		for (int i = 0; i < numerators.length; i++) {
+			result[i] = numerators[i].longValue();
+		}
+		return new RationalVector(result, null, d);
+	}
+
+	private static long gcd(long positive, long value) {
+		// the remainders are smaller than the positive argument, so Long.MIN_VALUE as value cannot overflow the result
+		long x = positive;
+		long y = value;
+		while (y != 0) {
+			long t = x % y;
+			x = y;
+			y = t;
+		}
+		return Math.abs(x);
+	}
+
+	private static BigInteger[] toBigIntegers(long[] values) {
+		BigInteger[] result = new BigInteger[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = BigInteger.valueOf(values[i]);
+		}
+		return result;
+	}
+}
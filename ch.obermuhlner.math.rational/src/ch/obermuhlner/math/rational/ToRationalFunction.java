@@ -0,0 +1,21 @@
+package ch.obermuhlner.math.rational;
+
+/**
+ * Represents a function that produces a {@link BigRational} result.
+ * 
+ * <p>This is the {@link BigRational} specialization of {@link java.util.function.Function},
+ * analogous to {@link java.util.function.ToDoubleFunction}.</p>
+ * 
+ * @param <T> the type of the input to the function
+ */
+@FunctionalInterface
+public interface ToRationalFunction<T> {
+
+	/**
+	 * Applies this function to the given argument.
+	 * 
+	 * @param value the function argument
+	 * @return the function result
+	 */
+	BigRational applyAsRational(T value);
+}